@@ -0,0 +1,445 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static com.google.common.base.Preconditions.*;
+import static org.objectweb.asm.Opcodes.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Maps;
+
+import net.awairo.mcmod.common.Accessors.BooleanGetter;
+import net.awairo.mcmod.common.Accessors.BooleanSetter;
+import net.awairo.mcmod.common.Accessors.DoubleGetter;
+import net.awairo.mcmod.common.Accessors.DoubleSetter;
+import net.awairo.mcmod.common.Accessors.FloatGetter;
+import net.awairo.mcmod.common.Accessors.FloatSetter;
+import net.awairo.mcmod.common.Accessors.IntGetter;
+import net.awairo.mcmod.common.Accessors.IntSetter;
+import net.awairo.mcmod.common.Accessors.LongGetter;
+import net.awairo.mcmod.common.Accessors.LongSetter;
+import net.awairo.mcmod.common.Accessors.ObjectGetter;
+import net.awairo.mcmod.common.Accessors.ObjectSetter;
+
+/**
+ * {@link Accessors} のアクセサークラス生成.
+ *
+ * <p>
+ * 生成するクラスは次のような形で、static final の MethodHandle を invokeExact するだけのクラスです。
+ * </p>
+ *
+ * <pre>
+ * public final class GeneratedAccessor1 implements Accessors.IntGetter {
+ *     private static final MethodHandle HANDLE = Accessors.takeHandle(GeneratedAccessor1.class, 1);
+ *     public int getInt(Object instance) { return (int) HANDLE.invokeExact(instance); }
+ * }
+ * </pre>
+ *
+ * @author alalwww
+ */
+final class AccessorGenerator
+{
+    private static final Logger LOG = CommonLogger.getLogger();
+
+    private static final String CLASS_NAME_PREFIX = "net.awairo.mcmod.common.GeneratedAccessor";
+    private static final String HANDLE_FIELD = "HANDLE";
+    private static final String HANDLE_DESC = Type.getDescriptor(MethodHandle.class);
+
+    private static final AtomicInteger ID = new AtomicInteger();
+    private static final ConcurrentMap<Integer, MethodHandle> HANDLES = Maps.newConcurrentMap();
+
+    private AccessorGenerator()
+    {
+    }
+
+    /**
+     * アクセサーの種類.
+     */
+    static enum Kind
+    {
+        INT_GETTER(IntGetter.class, int.class, false, "getInt"),
+        INT_SETTER(IntSetter.class, int.class, true, "setInt"),
+        LONG_GETTER(LongGetter.class, long.class, false, "getLong"),
+        LONG_SETTER(LongSetter.class, long.class, true, "setLong"),
+        FLOAT_GETTER(FloatGetter.class, float.class, false, "getFloat"),
+        FLOAT_SETTER(FloatSetter.class, float.class, true, "setFloat"),
+        DOUBLE_GETTER(DoubleGetter.class, double.class, false, "getDouble"),
+        DOUBLE_SETTER(DoubleSetter.class, double.class, true, "setDouble"),
+        BOOLEAN_GETTER(BooleanGetter.class, boolean.class, false, "getBoolean"),
+        BOOLEAN_SETTER(BooleanSetter.class, boolean.class, true, "setBoolean"),
+        OBJECT_GETTER(ObjectGetter.class, Object.class, false, "get"),
+        OBJECT_SETTER(ObjectSetter.class, Object.class, true, "set");
+
+        final Class<?> accessorType;
+        final Class<?> valueType;
+        final boolean setter;
+        final String methodName;
+        final MethodType handleType;
+
+        private Kind(Class<?> accessorType, Class<?> valueType, boolean setter, String methodName)
+        {
+            this.accessorType = accessorType;
+            this.valueType = valueType;
+            this.setter = setter;
+            this.methodName = methodName;
+            handleType = setter
+                    ? MethodType.methodType(void.class, Object.class, valueType)
+                    : MethodType.methodType(valueType, Object.class);
+        }
+
+        @Nullable
+        static Kind of(Class<?> accessorType)
+        {
+            for (final Kind kind : values())
+                if (kind.accessorType == accessorType)
+                    return kind;
+
+            return null;
+        }
+
+        boolean accepts(Class<?> fieldType)
+        {
+            return valueType == Object.class ? !fieldType.isPrimitive() : valueType == fieldType;
+        }
+
+        /**
+         * フィールドの MethodHandle を、インターフェイスのメソッドと同じ型に変換して取得します.
+         */
+        MethodHandle adapt(Field field) throws IllegalAccessException
+        {
+            field.setAccessible(true);
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+            MethodHandle handle = setter ? lookup.unreflectSetter(field) : lookup.unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers()))
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+
+            return handle.asType(handleType);
+        }
+    }
+
+    /**
+     * アクセサーを生成します. クラスの定義ができなかった場合は MethodHandle を保持する実装を返します.
+     */
+    @Nonnull
+    static Object generate(Kind kind, Field field)
+    {
+        final MethodHandle handle;
+        try
+        {
+            handle = kind.adapt(field);
+        }
+        catch (final Exception e)
+        {
+            LOG.severe(e, "reflection failed. (field=%s, accessor=%s)", field, kind.accessorType.getName());
+            throw Throwables.propagate(e);
+        }
+
+        final int id = ID.incrementAndGet();
+        HANDLES.put(Integer.valueOf(id), handle);
+
+        try
+        {
+            final String className = CLASS_NAME_PREFIX + id;
+            final Class<?> accessorClass = Holder.LOADER.define(className, generateClass(kind, className, id));
+            return accessorClass.getConstructor().newInstance();
+        }
+        catch (Exception | LinkageError e)
+        {
+            HANDLES.remove(Integer.valueOf(id));
+            LOG.debug(e, "could not define accessor class, fall back to MethodHandle. (field=%s)", field);
+            return new HandleAccessor(handle, field);
+        }
+    }
+
+    @Nonnull
+    static MethodHandle takeHandle(Class<?> accessorClass, int id)
+    {
+        checkArgument(accessorClass.getClassLoader() instanceof DefiningClassLoader
+                && accessorClass.getName().equals(CLASS_NAME_PREFIX + id), "not a generated accessor class. : %s",
+                accessorClass);
+
+        final MethodHandle handle = HANDLES.remove(Integer.valueOf(id));
+
+        if (handle == null)
+            throw new IllegalStateException("handle already taken. : " + id);
+
+        return handle;
+    }
+
+    private static byte[] generateClass(Kind kind, String className, int id)
+    {
+        final String internalName = className.replace('.', '/');
+        final Type valueType = Type.getType(kind.valueType);
+        final String methodDesc = kind.handleType.toMethodDescriptorString();
+
+        final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_7, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, internalName, null, "java/lang/Object",
+                new String[] { Type.getInternalName(kind.accessorType) });
+
+        cw.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, HANDLE_FIELD, HANDLE_DESC, null, null).visitEnd();
+
+        MethodVisitor mv = cw.visitMethod(ACC_STATIC, "<clinit>", "()V", null, null);
+        mv.visitCode();
+        mv.visitLdcInsn(Type.getObjectType(internalName));
+        mv.visitLdcInsn(Integer.valueOf(id));
+        mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(Accessors.class), "takeHandle",
+                "(Ljava/lang/Class;I)" + HANDLE_DESC);
+        mv.visitFieldInsn(PUTSTATIC, internalName, HANDLE_FIELD, HANDLE_DESC);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V");
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC, kind.methodName, methodDesc, null, null);
+        mv.visitCode();
+        mv.visitFieldInsn(GETSTATIC, internalName, HANDLE_FIELD, HANDLE_DESC);
+        mv.visitVarInsn(ALOAD, 1);
+        if (kind.setter)
+            mv.visitVarInsn(valueType.getOpcode(ILOAD), 2);
+        mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/invoke/MethodHandle", "invokeExact", methodDesc);
+        mv.visitInsn(kind.setter ? RETURN : valueType.getOpcode(IRETURN));
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    /**
+     * 生成したクラスを定義するクラスローダー.
+     */
+    private static final class DefiningClassLoader extends ClassLoader
+    {
+        private DefiningClassLoader(ClassLoader parent)
+        {
+            super(parent);
+        }
+
+        private Class<?> define(String name, byte[] b)
+        {
+            return defineClass(name, b, 0, b.length);
+        }
+    }
+
+    /**
+     * クラスローダーの生成が許可されていない場合、初期化に失敗して以降は常にフォールバックします.
+     */
+    private static final class Holder
+    {
+        private static final DefiningClassLoader LOADER = new DefiningClassLoader(
+                AccessorGenerator.class.getClassLoader());
+    }
+
+    /**
+     * クラスを定義できない場合の、インスタンスに MethodHandle を保持する実装.
+     */
+    private static final class HandleAccessor implements IntGetter, IntSetter, LongGetter, LongSetter,
+            FloatGetter, FloatSetter, DoubleGetter, DoubleSetter, BooleanGetter, BooleanSetter,
+            ObjectGetter<Object>, ObjectSetter<Object>
+    {
+        private final MethodHandle handle;
+        private final Field field;
+
+        private HandleAccessor(MethodHandle handle, Field field)
+        {
+            this.handle = handle;
+            this.field = field;
+        }
+
+        private RuntimeException failed(Throwable e, Object instance)
+        {
+            LOG.severe(e, "reflection failed. (field=%s, instance=%s)", field, instance);
+            return Throwables.propagate(e);
+        }
+
+        @Override
+        public int getInt(Object instance)
+        {
+            try
+            {
+                return (int) handle.invokeExact(instance);
+            }
+            catch (final Throwable e)
+            {
+                throw failed(e, instance);
+            }
+        }
+
+        @Override
+        public void setInt(Object instance, int value)
+        {
+            try
+            {
+                handle.invokeExact(instance, value);
+            }
+            catch (final Throwable e)
+            {
+                throw failed(e, instance);
+            }
+        }
+
+        @Override
+        public long getLong(Object instance)
+        {
+            try
+            {
+                return (long) handle.invokeExact(instance);
+            }
+            catch (final Throwable e)
+            {
+                throw failed(e, instance);
+            }
+        }
+
+        @Override
+        public void setLong(Object instance, long value)
+        {
+            try
+            {
+                handle.invokeExact(instance, value);
+            }
+            catch (final Throwable e)
+            {
+                throw failed(e, instance);
+            }
+        }
+
+        @Override
+        public float getFloat(Object instance)
+        {
+            try
+            {
+                return (float) handle.invokeExact(instance);
+            }
+            catch (final Throwable e)
+            {
+                throw failed(e, instance);
+            }
+        }
+
+        @Override
+        public void setFloat(Object instance, float value)
+        {
+            try
+            {
+                handle.invokeExact(instance, value);
+            }
+            catch (final Throwable e)
+            {
+                throw failed(e, instance);
+            }
+        }
+
+        @Override
+        public double getDouble(Object instance)
+        {
+            try
+            {
+                return (double) handle.invokeExact(instance);
+            }
+            catch (final Throwable e)
+            {
+                throw failed(e, instance);
+            }
+        }
+
+        @Override
+        public void setDouble(Object instance, double value)
+        {
+            try
+            {
+                handle.invokeExact(instance, value);
+            }
+            catch (final Throwable e)
+            {
+                throw failed(e, instance);
+            }
+        }
+
+        @Override
+        public boolean getBoolean(Object instance)
+        {
+            try
+            {
+                return (boolean) handle.invokeExact(instance);
+            }
+            catch (final Throwable e)
+            {
+                throw failed(e, instance);
+            }
+        }
+
+        @Override
+        public void setBoolean(Object instance, boolean value)
+        {
+            try
+            {
+                handle.invokeExact(instance, value);
+            }
+            catch (final Throwable e)
+            {
+                throw failed(e, instance);
+            }
+        }
+
+        @Override
+        public Object get(Object instance)
+        {
+            try
+            {
+                return handle.invokeExact(instance);
+            }
+            catch (final Throwable e)
+            {
+                throw failed(e, instance);
+            }
+        }
+
+        @Override
+        public void set(Object instance, Object value)
+        {
+            try
+            {
+                handle.invokeExact(instance, value);
+            }
+            catch (final Throwable e)
+            {
+                throw failed(e, instance);
+            }
+        }
+    }
+}
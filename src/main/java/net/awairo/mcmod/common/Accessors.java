@@ -0,0 +1,163 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static com.google.common.base.Preconditions.*;
+import static net.awairo.mcmod.common.PreconditionUtils.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+
+import javax.annotation.Nonnull;
+
+/**
+ * 型付きのフィールドアクセサー.
+ *
+ * <p>
+ * 何百万回と読み書きするような一部のフィールド用に、フィールドごとの小さなアクセサークラスを実行時に生成します。
+ * 生成したクラスは MethodHandle を static final フィールドに保持するため、JIT が直接のフィールドアクセスまで畳み込めます。
+ * クラスの定義が許可されていない環境では、インスタンスに MethodHandle を保持する実装にフォールバックします。
+ * </p>
+ *
+ * <pre>
+ * private static final Accessors.IntGetter TICKS = Accessors.newAccessor(Accessors.IntGetter.class,
+ *         ReflectionHelper.getField(Foo.class, &quot;ticks&quot;, &quot;field_00000_a&quot;));
+ * </pre>
+ *
+ * @author alalwww
+ */
+public final class Accessors
+{
+    private Accessors()
+    {
+    }
+
+    /** int フィールドの getter. */
+    public interface IntGetter
+    {
+        int getInt(Object instance);
+    }
+
+    /** int フィールドの setter. */
+    public interface IntSetter
+    {
+        void setInt(Object instance, int value);
+    }
+
+    /** long フィールドの getter. */
+    public interface LongGetter
+    {
+        long getLong(Object instance);
+    }
+
+    /** long フィールドの setter. */
+    public interface LongSetter
+    {
+        void setLong(Object instance, long value);
+    }
+
+    /** float フィールドの getter. */
+    public interface FloatGetter
+    {
+        float getFloat(Object instance);
+    }
+
+    /** float フィールドの setter. */
+    public interface FloatSetter
+    {
+        void setFloat(Object instance, float value);
+    }
+
+    /** double フィールドの getter. */
+    public interface DoubleGetter
+    {
+        double getDouble(Object instance);
+    }
+
+    /** double フィールドの setter. */
+    public interface DoubleSetter
+    {
+        void setDouble(Object instance, double value);
+    }
+
+    /** boolean フィールドの getter. */
+    public interface BooleanGetter
+    {
+        boolean getBoolean(Object instance);
+    }
+
+    /** boolean フィールドの setter. */
+    public interface BooleanSetter
+    {
+        void setBoolean(Object instance, boolean value);
+    }
+
+    /** 参照型フィールドの getter. */
+    public interface ObjectGetter<T>
+    {
+        T get(Object instance);
+    }
+
+    /** 参照型フィールドの setter. */
+    public interface ObjectSetter<T>
+    {
+        void set(Object instance, T value);
+    }
+
+    /**
+     * フィールドアクセサーを生成します.
+     *
+     * @param accessorType
+     *            このクラスに定義されているアクセサーのインターフェイス
+     * @param field
+     *            フィールド
+     * @return アクセサー
+     * @throws IllegalArgumentException
+     *             アクセサーの型とフィールドの型が一致しない場合
+     */
+    @Nonnull
+    public static <A> A newAccessor(@Nonnull Class<A> accessorType, @Nonnull Field field)
+    {
+        checkArgNotNull(accessorType);
+        checkArgNotNull(field);
+
+        final AccessorGenerator.Kind kind = AccessorGenerator.Kind.of(accessorType);
+        checkArgument(kind != null, "unsupported accessor type. : %s", accessorType);
+        checkArgument(kind.accepts(field.getType()), "%s is not compatible with %s", accessorType, field);
+
+        return accessorType.cast(AccessorGenerator.generate(kind, field));
+    }
+
+    /**
+     * 生成したアクセサークラスの初期化時に呼び出され、保持する MethodHandle を受け取ります.
+     *
+     * <p>
+     * 内部用. 生成したクラスは別のクラスローダーで定義するためパッケージプライベートにはできず、public にしています。
+     * 生成したクラス自身以外からは受け取れず、ハンドルは一度しか受け取れません。
+     * </p>
+     *
+     * @param accessorClass
+     *            生成したクラス
+     * @param id
+     *            生成したクラスの ID
+     * @return MethodHandle
+     * @throws IllegalArgumentException
+     *             生成したクラスではない場合
+     */
+    @Nonnull
+    public static MethodHandle takeHandle(@Nonnull Class<?> accessorClass, int id)
+    {
+        return AccessorGenerator.takeHandle(checkArgNotNull(accessorClass), id);
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static net.awairo.mcmod.common.PreconditionUtils.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.common.base.Strings;
+
+/**
+ * ログの非同期出力.
+ *
+ * <p>
+ * ログを出力したスレッドはレコードをリングバッファに積むだけで戻り、フォーマットとハンドラーへの書き込みは一つの書き込みスレッドで行います。
+ * 描画スレッドやサーバースレッドがコンソールハンドラーのロックや I/O で止まらなくなります。
+ * </p>
+ * <p>
+ * 次のシステムプロパティで有効にします。全ての mod のロガーが一つのバッファと書き込みスレッドを共有します。
+ * </p>
+ * <ul>
+ * <li>{@code net.awairo.log.async=true}</li>
+ * <li>{@code net.awairo.log.async.capacity} バッファの容量. 省略時は {@value #DEFAULT_CAPACITY}</li>
+ * <li>{@code net.awairo.log.async.overflow} バッファが満杯の場合の動作. {@link OverflowPolicy} の名前. 省略時は BLOCK</li>
+ * </ul>
+ * <p>
+ * 終了時の残りのレコードはシャットダウンフックでも書き出しますが、JUL の {@link java.util.logging.LogManager} も
+ * シャットダウンフックでハンドラーを閉じるため、フックの実行順によっては閉じた後のハンドラーに書き込んで失われます。
+ * 確実に書き出す場合は、終了処理から {@link CommonLogic#shutdownLogging()} を呼び出してください。
+ * </p>
+ *
+ * @author alalwww
+ */
+final class AsyncLogDispatcher implements Runnable
+{
+    static final int DEFAULT_CAPACITY = 8192;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * バッファが満杯の場合の動作.
+     */
+    static enum OverflowPolicy
+    {
+        /** 空きができるまで待ちます. */
+        BLOCK,
+        /** {@link Level#WARNING} 未満のレコードを捨てます. WARNING 以上は空きができるまで待ちます. */
+        DROP_LOWEST_LEVEL,
+        /** バッファの最も古いレコードを捨てて追加します. */
+        DROP_OLDEST;
+    }
+
+    private static class Holder
+    {
+        @Nullable
+        private static final AsyncLogDispatcher INSTANCE = create();
+    }
+
+    private final LogRingBuffer<LazyLogRecord> buffer;
+    private final OverflowPolicy policy;
+    private final Thread writer;
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running = true;
+    private volatile boolean idle;
+
+    /** 書き込みスレッドが最後に報告した、捨てたレコード数. */
+    private long reportedDropped;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *            バッファの容量
+     * @param policy
+     *            バッファが満杯の場合の動作
+     */
+    AsyncLogDispatcher(int capacity, OverflowPolicy policy)
+    {
+        buffer = new LogRingBuffer<>(capacity);
+        this.policy = checkArgNotNull(policy);
+
+        writer = new Thread(this, "AwA log writer");
+        writer.setDaemon(true);
+    }
+
+    /**
+     * システムプロパティで有効にされている場合、共有の非同期出力を取得します.
+     *
+     * @return 非同期出力 または 無効の場合 null
+     */
+    @Nullable
+    static AsyncLogDispatcher get()
+    {
+        return Holder.INSTANCE;
+    }
+
+    @Nullable
+    private static AsyncLogDispatcher create()
+    {
+        if (!Env.INSTANCE.isModPropertyEnabled("log.async"))
+            return null;
+
+        final String capacity = Env.INSTANCE.getModProperty("log.async.capacity");
+        final String policy = Env.INSTANCE.getModProperty("log.async.overflow");
+
+        final AsyncLogDispatcher dispatcher = new AsyncLogDispatcher(
+                (int) Logger.parseProperty("log.async.capacity", capacity, DEFAULT_CAPACITY, 1, 1 << 30),
+                parsePolicy(policy));
+
+        return dispatcher.start();
+    }
+
+    /**
+     * バッファが満杯の場合の動作を解析します. 不正な値の場合は標準エラーに報告して {@link OverflowPolicy#BLOCK} を使用します.
+     */
+    private static OverflowPolicy parsePolicy(@Nullable String policy)
+    {
+        if (Strings.isNullOrEmpty(policy))
+            return OverflowPolicy.BLOCK;
+
+        try
+        {
+            return OverflowPolicy.valueOf(policy.trim());
+        }
+        catch (final IllegalArgumentException e)
+        {
+            Logger.SYS_ERR.println("illegal property value, the default is used. (log.async.overflow=" + policy
+                    + ", default=" + OverflowPolicy.BLOCK + ")");
+            return OverflowPolicy.BLOCK;
+        }
+    }
+
+    /**
+     * 書き込みスレッドを開始し、終了時に残りのレコードを書き出すシャットダウンフックを登録します.
+     *
+     * @return このインスタンス
+     */
+    AsyncLogDispatcher start()
+    {
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread("AwA log writer shutdown")
+        {
+            @Override
+            public void run()
+            {
+                shutdown();
+            }
+        });
+        return this;
+    }
+
+    /**
+     * 共有の非同期出力が有効な場合、止めて残りのレコードを書き出します.
+     */
+    static void shutdownShared()
+    {
+        final AsyncLogDispatcher dispatcher = get();
+
+        if (dispatcher != null)
+            dispatcher.shutdown();
+    }
+
+    /**
+     * 書き込みスレッドを止め、残りのレコードを書き出すまで待ちます.
+     *
+     * <p>
+     * 書き込みスレッドが動いていない場合は、残りのレコードを呼び出し元のスレッドで書き出します。
+     * </p>
+     */
+    synchronized void shutdown()
+    {
+        running = false;
+        LockSupport.unpark(writer);
+
+        try
+        {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        if (writer.isAlive())
+            return;
+
+        for (LazyLogRecord record = buffer.poll(); record != null; record = buffer.poll())
+            publish(record);
+    }
+
+    /**
+     * レコードをバッファに積みます.
+     *
+     * <p>
+     * 書き込みスレッド自身からの出力 (ハンドラー内でのログ出力など) と、停止後の出力は、呼び出し元のスレッドでそのまま出力します。
+     * </p>
+     *
+     * @param record
+     *            レコード
+     */
+    void dispatch(@Nonnull LazyLogRecord record)
+    {
+        if (!running || Thread.currentThread() == writer)
+        {
+            record.owner.publish(record);
+            return;
+        }
+
+        while (!buffer.offer(record))
+        {
+            switch (policy)
+            {
+                case DROP_OLDEST:
+                    if (buffer.poll() != null)
+                        dropped.incrementAndGet();
+                    continue;
+
+                case DROP_LOWEST_LEVEL:
+                    if (record.getLevel().intValue() < Level.WARNING.intValue())
+                    {
+                        dropped.incrementAndGet();
+                        return;
+                    }
+                    break;
+
+                default:
+                    break;
+            }
+
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+
+        if (idle)
+            LockSupport.unpark(writer);
+    }
+
+    /**
+     * @return 書き込み待ちのレコード数
+     */
+    int queueDepth()
+    {
+        return buffer.size();
+    }
+
+    /**
+     * @return 満杯のため捨てたレコード数
+     */
+    long droppedCount()
+    {
+        return dropped.get();
+    }
+
+    @Override
+    public void run()
+    {
+        for (;;)
+        {
+            final LazyLogRecord record = buffer.poll();
+
+            if (record != null)
+            {
+                publish(record);
+                continue;
+            }
+
+            reportDropped();
+
+            if (!running)
+                return;
+
+            idle = true;
+
+            if (buffer.isEmpty() && running)
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+
+            idle = false;
+        }
+    }
+
+    private static void publish(LazyLogRecord record)
+    {
+        try
+        {
+            record.owner.publish(record);
+        }
+        catch (final RuntimeException e)
+        {
+            // 一つのレコードの失敗で書き込みスレッドを止めない
+            Logger.SYS_ERR.println("failed to publish the log record. (" + e + ")");
+            e.printStackTrace(Logger.SYS_ERR);
+        }
+    }
+
+    private void reportDropped()
+    {
+        final long count = dropped.get();
+
+        if (count == reportedDropped)
+            return;
+
+        CommonLogger.getLogger().warning("log buffer overflowed, %s records dropped. (policy=%s, capacity=%s)",
+                count - reportedDropped, policy, buffer.capacity());
+        reportedDropped = count;
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static net.awairo.mcmod.common.BinaryLogHandler.*;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import javax.annotation.Nonnull;
+
+import com.google.common.collect.Maps;
+
+/**
+ * {@link BinaryLogHandler} が書き込んだファイルを {@link LogFormatter} と同じ形式のテキストに戻すデコーダー.
+ *
+ * <p>
+ * コマンドラインから {@code java -cp ... net.awairo.mcmod.common.BinaryLogDecoder <入力> [出力]} として実行できます。
+ * 出力を省略した場合は標準出力に書き込みます。
+ * </p>
+ *
+ * @author alalwww
+ */
+public final class BinaryLogDecoder
+{
+    private final DataInputStream in;
+    private final Map<Integer, String> formats = Maps.newHashMap();
+    private final Map<Integer, String> loggers = Maps.newHashMap();
+    private final LogFormatter.Buffer buffer = new LogFormatter.Buffer();
+    private long lastMillis;
+
+    private BinaryLogDecoder(InputStream in)
+    {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+    }
+
+    /**
+     * バイナリ形式のログをデコードします.
+     *
+     * @param in
+     *            バイナリ形式のログ
+     * @param out
+     *            テキストの出力先
+     * @throws IOException
+     *             読み込めない場合、または形式が正しくない場合
+     */
+    public static void decode(@Nonnull InputStream in, @Nonnull Appendable out) throws IOException
+    {
+        new BinaryLogDecoder(in).decodeTo(out);
+    }
+
+    /**
+     * エントリーポイント.
+     *
+     * @param args
+     *            入力ファイル [出力ファイル]
+     * @throws IOException
+     *             読み込めない場合、または書き込めない場合
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length < 1)
+        {
+            System.err.println("usage: BinaryLogDecoder <input> [output]");
+            return;
+        }
+
+        try (InputStream in = Files.newInputStream(Paths.get(args[0]));
+                Writer out = args.length > 1
+                        ? Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)
+                        : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)))
+        {
+            decode(in, out);
+        }
+    }
+
+    private void decodeTo(Appendable out) throws IOException
+    {
+        if (in.readInt() != MAGIC)
+            throw new IOException("not a binary log.");
+
+        final int version = in.readUnsignedByte();
+        if (version != VERSION)
+            throw new IOException("unsupported version. : " + version);
+
+        for (int tag = in.read(); tag >= 0; tag = in.read())
+        {
+            switch (tag)
+            {
+                case DEFINE_FORMAT:
+                    formats.put(Integer.valueOf((int) readVarint()), readString());
+                    break;
+
+                case DEFINE_LOGGER:
+                    loggers.put(Integer.valueOf((int) readVarint()), readString());
+                    break;
+
+                case RECORD:
+                    readRecord(out);
+                    break;
+
+                default:
+                    throw new IOException("illegal entry. : " + tag);
+            }
+        }
+    }
+
+    private void readRecord(Appendable out) throws IOException
+    {
+        final int formatId = (int) readVarint();
+        final String format = formatId == 0 ? readString() : formats.get(Integer.valueOf(formatId));
+
+        if (format == null)
+            throw new IOException("undefined format. : " + formatId);
+
+        final Level level = Level.parse(String.valueOf(unzigzag(readVarint())));
+        final String loggerName = loggers.get(Integer.valueOf((int) readVarint()));
+        final int threadId = (int) readVarint();
+        lastMillis += unzigzag(readVarint());
+
+        final Object[] args = new Object[(int) readVarint()];
+        for (int i = 0; i < args.length; i++)
+            args[i] = readArg();
+
+        final String stackTrace = in.readByte() != 0 ? readString() : null;
+
+        final LogRecord record = new LogRecord(level, MessageFormatter.format(format, args));
+        record.setLoggerName(loggerName);
+        record.setThreadID(threadId);
+        record.setMillis(lastMillis);
+
+        out.append(buffer.format(record));
+        buffer.trim();
+
+        if (stackTrace != null)
+            out.append(stackTrace);
+    }
+
+    private Object readArg() throws IOException
+    {
+        final int kind = in.readByte();
+
+        switch (kind)
+        {
+            case ARG_NULL:
+                return null;
+
+            case ARG_INT:
+                return Integer.valueOf((int) unzigzag(readVarint()));
+
+            case ARG_LONG:
+                return Long.valueOf(unzigzag(readVarint()));
+
+            case ARG_FLOAT:
+                return Float.valueOf(in.readFloat());
+
+            case ARG_DOUBLE:
+                return Double.valueOf(in.readDouble());
+
+            case ARG_STRING:
+                return readString();
+
+            case ARG_BOOLEAN:
+                return Boolean.valueOf(in.readByte() != 0);
+
+            case ARG_CHAR:
+                return Character.valueOf((char) readVarint());
+
+            case ARG_SHORT:
+                return Short.valueOf((short) unzigzag(readVarint()));
+
+            case ARG_BYTE:
+                return Byte.valueOf(in.readByte());
+
+            default:
+                throw new IOException("illegal argument kind. : " + kind);
+        }
+    }
+
+    private String readString() throws IOException
+    {
+        final byte[] bytes = new byte[(int) readVarint()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long readVarint() throws IOException
+    {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7)
+        {
+            final int b = in.read();
+            if (b < 0)
+                throw new EOFException();
+
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+
+        throw new IOException("malformed varint.");
+    }
+
+    private static long unzigzag(long value)
+    {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
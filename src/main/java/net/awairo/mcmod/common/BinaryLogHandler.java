@@ -0,0 +1,481 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static net.awairo.mcmod.common.PreconditionUtils.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * ログをバイナリ形式で書き込むハンドラー.
+ *
+ * <p>
+ * メッセージをフォーマットせず、フォーマット文字列とロガー名は初出の時に ID を割り当てて一度だけ書き込み、
+ * 各レコードには ID と前のレコードからの時刻の差分、引数の値だけを書き込みます。
+ * {@link LazyLogRecord} のプリミティブ型の引数は、ボクシングも文字列化もせずにそのまま書き込みます。
+ * 書き込んだファイルは {@link BinaryLogDecoder} で {@link LogFormatter} と同じ形式のテキストに戻せます。
+ * </p>
+ * <p>
+ * ファイルの形式は、ヘッダー ({@link #MAGIC}, {@link #VERSION}) に続けて、次のエントリーを並べたものです。
+ * 整数は可変長 (7 ビットずつ、符号付きの値は zigzag 変換)、文字列は長さ + UTF-8 です。
+ * </p>
+ * <ul>
+ * <li>{@link #DEFINE_FORMAT}: ID, フォーマット文字列</li>
+ * <li>{@link #DEFINE_LOGGER}: ID, ロガー名</li>
+ * <li>{@link #RECORD}: フォーマット ID (0 の場合は直後にフォーマット文字列), レベル, ロガー ID, スレッド ID, 時刻の差分, 引数の数,
+ * 引数 (種類 + 値), スタックトレースの有無 (+ 文字列)</li>
+ * </ul>
+ * <p>
+ * 数値、文字、真偽値以外の引数は文字列にして書き込みます。文字列にした引数があり、フォーマットに {@code %s}, {@code %d} 以外の
+ * 変換 ({@code %x}, {@code %b}, {@code %.2f} など) が含まれる場合は、デコード時に同じテキストに戻せないため、
+ * フォーマット済みのメッセージを引数なしで書き込みます。
+ * </p>
+ * <p>
+ * レコードはバッファが溢れた時と {@link Level#WARNING} 以上のレコードの後、および一定の間隔でファイルに書き込みます。
+ * </p>
+ *
+ * @author alalwww
+ */
+final class BinaryLogHandler extends Handler
+{
+    /** ファイルの先頭の識別子. */
+    static final int MAGIC = 0x41774142; // "AwAB"
+    /** 形式のバージョン. */
+    static final int VERSION = 1;
+
+    /** ファイルに書き込む間隔の既定値(ミリ秒). */
+    static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000L;
+
+    static final byte DEFINE_FORMAT = 1;
+    static final byte DEFINE_LOGGER = 2;
+    static final byte RECORD = 3;
+
+    static final byte ARG_NULL = 'N';
+    static final byte ARG_INT = 'I';
+    static final byte ARG_LONG = 'J';
+    static final byte ARG_FLOAT = 'F';
+    static final byte ARG_DOUBLE = 'D';
+    static final byte ARG_STRING = 'S';
+    static final byte ARG_BOOLEAN = 'Z';
+    static final byte ARG_CHAR = 'C';
+    static final byte ARG_BYTE = 'B';
+    /** short. 'S' は文字列で使用済みのため 'H'. */
+    static final byte ARG_SHORT = 'H';
+
+    /** これ以上のフォーマット文字列には ID を割り当てず、レコードに直接書き込みます. */
+    private static final int MAX_FORMATS = 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private final ScheduledFuture<?> flushTask;
+    private final Thread shutdownHook;
+
+    private final Map<String, Integer> formats = Maps.newHashMap();
+    private final Map<String, Integer> loggers = Maps.newHashMap();
+    private long lastMillis;
+
+    /**
+     * Constructor.
+     *
+     * @param file
+     *            書き込むファイル. 既に存在する場合は上書きします
+     * @throws IOException
+     *             ファイルを開けない場合
+     */
+    BinaryLogHandler(Path file) throws IOException
+    {
+        this(file, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param file
+     *            書き込むファイル. 既に存在する場合は上書きします
+     * @param flushIntervalMillis
+     *            ファイルに書き込む間隔(ミリ秒)
+     * @throws IOException
+     *             ファイルを開けない場合
+     */
+    BinaryLogHandler(Path file, long flushIntervalMillis) throws IOException
+    {
+        channel = FileChannel.open(checkArgNotNull(file), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        setLevel(Level.ALL);
+
+        buffer.putInt(MAGIC);
+        buffer.put((byte) VERSION);
+
+        final Runnable flush = new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                flush();
+            }
+        };
+
+        flushTask = FlushTimer.EXECUTOR.scheduleWithFixedDelay(flush, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        shutdownHook = new Thread(flush, "AwA binary log flush on shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * 定期的な書き込みを実行するスレッド. 全てのハンドラーで共有します.
+     */
+    private static final class FlushTimer
+    {
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("AwA binary log flush").build());
+    }
+
+    @Override
+    public synchronized void publish(LogRecord record)
+    {
+        if (!isLoggable(record) || !channel.isOpen())
+            return;
+
+        final LogMetrics metrics = LogMetrics.of(record);
+
+        try
+        {
+            final long start = metrics != null ? System.nanoTime() : 0L;
+            write(record);
+
+            if (metrics != null)
+                metrics.written(System.nanoTime() - start);
+        }
+        catch (final Exception e)
+        {
+            reportError(null, e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    @Override
+    public synchronized void flush()
+    {
+        if (!channel.isOpen())
+            return;
+
+        try
+        {
+            drain();
+        }
+        catch (final IOException e)
+        {
+            reportError(null, e, ErrorManager.FLUSH_FAILURE);
+        }
+    }
+
+    @Override
+    public synchronized void close()
+    {
+        if (!channel.isOpen())
+            return;
+
+        flushTask.cancel(false);
+
+        try
+        {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        }
+        catch (final IllegalStateException ignore)
+        {
+            // 終了処理中はフックが書き込む
+        }
+
+        try
+        {
+            drain();
+            channel.close();
+        }
+        catch (final IOException e)
+        {
+            reportError(null, e, ErrorManager.CLOSE_FAILURE);
+        }
+    }
+
+    private void write(LogRecord record) throws IOException
+    {
+        // LazyLogRecord 以外と、引数を文字列にすると同じテキストに戻せないレコードは、
+        // フォーマット済みのメッセージを引数なしで書き込む
+        final LazyLogRecord lazy = record instanceof LazyLogRecord && isReproducible((LazyLogRecord) record)
+                ? (LazyLogRecord) record
+                : null;
+        final String format = lazy != null ? lazy.getFormat() : record.getMessage();
+        final int formatId = lazy != null ? formatId(format) : 0;
+        final int loggerId = loggerId(record.getLoggerName());
+
+        ensure(1 + 5);
+        buffer.put(RECORD);
+        putVarint(formatId);
+        if (formatId == 0)
+            putString(format);
+
+        ensure(50);
+        putVarint(zigzag(record.getLevel().intValue()));
+        putVarint(loggerId);
+        putVarint(record.getThreadID());
+        putVarint(zigzag(record.getMillis() - lastMillis));
+        lastMillis = record.getMillis();
+
+        final int count = lazy != null ? lazy.getArgCount() : 0;
+        putVarint(count);
+
+        for (int i = 0; i < count; i++)
+        {
+            switch (lazy.getArgKind(i))
+            {
+                case LazyLogRecord.INT:
+                    ensure(6);
+                    buffer.put(ARG_INT);
+                    putVarint(zigzag((int) lazy.getRawArg(i)));
+                    break;
+
+                case LazyLogRecord.LONG:
+                    ensure(11);
+                    buffer.put(ARG_LONG);
+                    putVarint(zigzag(lazy.getRawArg(i)));
+                    break;
+
+                case LazyLogRecord.FLOAT:
+                    ensure(5);
+                    buffer.put(ARG_FLOAT).putInt((int) lazy.getRawArg(i));
+                    break;
+
+                case LazyLogRecord.DOUBLE:
+                    ensure(9);
+                    buffer.put(ARG_DOUBLE).putLong(lazy.getRawArg(i));
+                    break;
+
+                case LazyLogRecord.CHAR:
+                    ensure(4);
+                    buffer.put(ARG_CHAR);
+                    putVarint((char) lazy.getRawArg(i));
+                    break;
+
+                default:
+                    putObject(lazy.getArg(i));
+                    break;
+            }
+        }
+
+        final Throwable thrown = record.getThrown();
+        ensure(1);
+        buffer.put((byte) (thrown != null ? 1 : 0));
+        if (thrown != null)
+            putString(Throwables.getStackTraceAsString(thrown));
+
+        if (record.getLevel().intValue() >= Level.WARNING.intValue())
+            drain();
+    }
+
+    /**
+     * 文字列にして書き込む引数があり、フォーマットに {@code %s}, {@code %d} 以外の変換が含まれる場合は false.
+     */
+    private static boolean isReproducible(LazyLogRecord record)
+    {
+        for (int i = 0; i < record.getArgCount(); i++)
+            if (record.getArgKind(i) == LazyLogRecord.OBJECT && !isTyped(record.getArg(i)))
+                return isSimpleFormat(record.getFormat());
+
+        return true;
+    }
+
+    private static boolean isTyped(@Nullable Object arg)
+    {
+        return arg == null || arg instanceof Integer || arg instanceof Long || arg instanceof Float
+                || arg instanceof Double || arg instanceof Boolean || arg instanceof Character || arg instanceof Short
+                || arg instanceof Byte;
+    }
+
+    private static boolean isSimpleFormat(String format)
+    {
+        for (int i = format.indexOf('%'); i >= 0; i = format.indexOf('%', i + 2))
+        {
+            if (i + 1 >= format.length())
+                return false;
+
+            switch (format.charAt(i + 1))
+            {
+                case 's':
+                case 'd':
+                case '%':
+                case 'n':
+                    break;
+
+                default:
+                    return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int formatId(String format) throws IOException
+    {
+        final Integer id = formats.get(format);
+        if (id != null)
+            return id.intValue();
+
+        if (formats.size() >= MAX_FORMATS)
+            return 0;
+
+        final int newId = formats.size() + 1;
+        formats.put(format, Integer.valueOf(newId));
+        ensure(1 + 5);
+        buffer.put(DEFINE_FORMAT);
+        putVarint(newId);
+        putString(format);
+        return newId;
+    }
+
+    private int loggerId(String loggerName) throws IOException
+    {
+        if (loggerName == null)
+            return 0;
+
+        final Integer id = loggers.get(loggerName);
+        if (id != null)
+            return id.intValue();
+
+        final int newId = loggers.size() + 1;
+        loggers.put(loggerName, Integer.valueOf(newId));
+        ensure(1 + 5);
+        buffer.put(DEFINE_LOGGER);
+        putVarint(newId);
+        putString(loggerName);
+        return newId;
+    }
+
+    private void putObject(Object arg) throws IOException
+    {
+        ensure(11);
+
+        if (arg == null)
+        {
+            buffer.put(ARG_NULL);
+        }
+        else if (arg instanceof Integer)
+        {
+            buffer.put(ARG_INT);
+            putVarint(zigzag(((Integer) arg).intValue()));
+        }
+        else if (arg instanceof Long)
+        {
+            buffer.put(ARG_LONG);
+            putVarint(zigzag(((Long) arg).longValue()));
+        }
+        else if (arg instanceof Float)
+        {
+            buffer.put(ARG_FLOAT).putFloat(((Float) arg).floatValue());
+        }
+        else if (arg instanceof Double)
+        {
+            buffer.put(ARG_DOUBLE).putDouble(((Double) arg).doubleValue());
+        }
+        else if (arg instanceof Boolean)
+        {
+            buffer.put(ARG_BOOLEAN).put((byte) (((Boolean) arg).booleanValue() ? 1 : 0));
+        }
+        else if (arg instanceof Character)
+        {
+            buffer.put(ARG_CHAR);
+            putVarint(((Character) arg).charValue());
+        }
+        else if (arg instanceof Short)
+        {
+            buffer.put(ARG_SHORT);
+            putVarint(zigzag(((Short) arg).shortValue()));
+        }
+        else if (arg instanceof Byte)
+        {
+            buffer.put(ARG_BYTE).put(((Byte) arg).byteValue());
+        }
+        else
+        {
+            buffer.put(ARG_STRING);
+            putString(String.valueOf(arg));
+        }
+    }
+
+    private void putString(String value) throws IOException
+    {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        ensure(5);
+        putVarint(bytes.length);
+
+        if (bytes.length <= buffer.capacity())
+        {
+            ensure(bytes.length);
+            buffer.put(bytes);
+            return;
+        }
+
+        drain();
+        channel.write(ByteBuffer.wrap(bytes));
+    }
+
+    private void putVarint(long value)
+    {
+        while ((value & ~0x7FL) != 0)
+        {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        buffer.put((byte) value);
+    }
+
+    private static long zigzag(long value)
+    {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private void ensure(int bytes) throws IOException
+    {
+        if (buffer.remaining() < bytes)
+            drain();
+    }
+
+    private void drain() throws IOException
+    {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+}
@@ -15,6 +15,7 @@ package net.awairo.mcmod.common;
 
 import static net.awairo.mcmod.common.PreconditionUtils.*;
 
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import javax.annotation.Nonnull;
@@ -39,6 +40,9 @@ final class CommonLogger extends Logger
     private CommonLogger()
     {
         super(Env.INSTANCE);
+
+        // リフレクションや色の解析の失敗がループの中で出力され続けても、ログが溢れないようにする
+        setRateLimiter(LogRateLimiter.fixedWindow(10, 10, TimeUnit.SECONDS));
     }
 
     /**
@@ -53,8 +57,8 @@ final class CommonLogger extends Logger
     }
 
     @Override
-    public void debug(@Nonnull String format, Object... args)
+    protected Level getDebugLevel()
     {
-        log(Level.FINER, format, args);
+        return Level.FINER;
     }
 }
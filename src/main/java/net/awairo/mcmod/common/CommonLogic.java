@@ -11,8 +11,14 @@
 
 package net.awairo.mcmod.common;
 
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
 import javax.annotation.Nonnull;
 
+import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
 
 import cpw.mods.fml.common.Mod;
@@ -27,13 +33,77 @@ import cpw.mods.fml.common.event.FMLPreInitializationEvent;
  */
 public final class CommonLogic
 {
+    private static final Logger LOG = CommonLogger.getLogger();
+
+    /** ログレベルの設定ファイルの名前. */
+    private static final String LOG_LEVELS_FILE_NAME = "awairo-log-levels.properties";
+
     private CommonLogic()
     {
     }
 
+    /**
+     * mod の preinit で呼び出します.
+     * 
+     * <p>
+     * mod が {@link NameMapping} を登録している場合、その全ての対象を並列に解決して検証し、失敗したものをまとめて出力します。
+     * </p>
+     * <p>
+     * また、ログレベルの設定ファイルの監視を開始します。ファイルは {@code net.awairo.log.levels} で指定でき、
+     * 省略時は config ディレクトリの {@value #LOG_LEVELS_FILE_NAME} です。詳細は {@link LogLevels} を参照してください。
+     * </p>
+     * 
+     * @param mod
+     *            mod
+     * @param event
+     *            preinit イベント
+     */
     public static void handlePreInitializeEvent(IAwAMod mod, FMLPreInitializationEvent event)
     {
+        validateNameMapping(mod.getEnv().getModId());
+        LogLevels.watch(getLogLevelsFile());
+    }
+
+    /**
+     * mod の終了処理で呼び出します.
+     * 
+     * <p>
+     * 非同期出力が有効な場合、JUL がハンドラーを閉じる前に残りのログを書き出します。
+     * 二回目以降の呼び出しと、シャットダウンフックでの書き出しは何もしません。
+     * </p>
+     */
+    public static void shutdownLogging()
+    {
+        AsyncLogDispatcher.shutdownShared();
+    }
+
+    private static Path getLogLevelsFile()
+    {
+        final String file = Env.INSTANCE.getModProperty("log.levels");
+
+        if (!Strings.isNullOrEmpty(file))
+            return Paths.get(file);
+
+        return new File(SettingsHelper.getConfigDir(), LOG_LEVELS_FILE_NAME).toPath();
+    }
+
+    private static void validateNameMapping(String modId)
+    {
+        final NameMapping mapping = NameMapping.forMod(modId);
+
+        if (mapping == null)
+            return;
+
+        final List<String> failures = mapping.validate();
+
+        if (failures.isEmpty())
+        {
+            LOG.debug("all reflection targets resolved. (modid=%s, count=%s)", modId, mapping.entries().size());
+            return;
+        }
 
+        LOG.severe("reflection targets could not be resolved. (modid=%s, failures=%s)%n    %s", modId,
+                failures.size(), Joiner.on(String.format("%n    ")).join(failures));
     }
 
     public static void handleViolationEvent(IAwAMod mod, FMLFingerprintViolationEvent event)
@@ -11,33 +11,250 @@
 
 package net.awairo.mcmod.common;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.ErrorManager;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import java.util.logging.StreamHandler;
 
+import javax.annotation.Nullable;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 /**
  * デバッグログのコンソール出力ハンドラ.
  * 
+ * <p>
+ * フォーマッターが {@link LogFormatter} の場合、ハンドラーが保持するバッファにフォーマットし、
+ * 文字列を生成せずにバイト列へエンコードしてストリームに書き込みます。
+ * それ以外のフォーマッターの場合も、フォーマットした文字列を同じストリームに書き込みます。
+ * </p>
+ * <p>
+ * バッファリングを有効にした場合は、レコードごとにフラッシュせず、バッファが溢れた時、一定時間ごと、
+ * {@link Level#WARNING} 以上のレコードを書き込んだ時、および終了時にだけフラッシュします。
+ * 大量のトレースログを出力しても、1 行ごとのシステムコールで描画が遅くならないようにします。
+ * </p>
+ * 
  * @author alalwww
  * 
  */
 public class DebugConsoleHandler extends StreamHandler
 {
+    /** これより大きくなったバッファは縮めます. */
+    private static final int MAX_RETAINED_CHARS = 8192;
+
+    private final OutputStream out;
+    private final boolean buffered;
+    @Nullable
+    private final ScheduledFuture<?> flushTask;
+    @Nullable
+    private final Thread shutdownHook;
+    private final LogFormatter.Buffer buffer = new LogFormatter.Buffer();
+    private final ByteBuffer bytes = ByteBuffer.allocate(1024);
+    private char[] chars;
+    private CharBuffer charBuffer;
+    private CharsetEncoder encoder;
+
     DebugConsoleHandler(PrintStream err)
     {
         super(err, new LogFormatter());
+        out = err;
+        buffered = false;
+        flushTask = null;
+        shutdownHook = null;
+        allocateChars(256);
+    }
+
+    /**
+     * バッファリングするハンドラーを生成します.
+     *
+     * @param err
+     *            出力先
+     * @param bufferSize
+     *            バッファのサイズ. 溢れた時に書き込みます
+     * @param flushIntervalMillis
+     *            フラッシュする間隔(ミリ秒)
+     */
+    DebugConsoleHandler(PrintStream err, int bufferSize, long flushIntervalMillis)
+    {
+        super(err, new LogFormatter());
+        out = new BufferedOutputStream(err, bufferSize);
+        buffered = true;
+        allocateChars(256);
+
+        final Runnable flush = new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                flush();
+            }
+        };
+
+        flushTask = FlushTimer.EXECUTOR.scheduleWithFixedDelay(flush, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        shutdownHook = new Thread(flush, "AwA console flush on shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * 定期的なフラッシュを実行するスレッド. 全てのハンドラーで共有します.
+     */
+    private static final class FlushTimer
+    {
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("AwA console flush").build());
     }
 
     @Override
     public synchronized void publish(LogRecord record)
     {
-        super.publish(record);
-        flush();
+        if (!isLoggable(record))
+            return;
+
+        final LogMetrics metrics = LogMetrics.of(record);
+
+        try
+        {
+            final long start = metrics != null ? System.nanoTime() : 0L;
+            final Formatter formatter = getFormatter();
+            final StringBuilder message = formatter instanceof LogFormatter
+                    ? buffer.format(record)
+                    : new StringBuilder(formatter.format(record));
+            final long formatted = metrics != null ? System.nanoTime() : 0L;
+
+            write(message);
+            buffer.trim();
+
+            if (!buffered || record.getLevel().intValue() >= Level.WARNING.intValue())
+                out.flush();
+
+            if (metrics != null)
+            {
+                metrics.formatted(formatted - start);
+                metrics.written(System.nanoTime() - formatted);
+            }
+        }
+        catch (final Exception e)
+        {
+            reportError(null, e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    @Override
+    public synchronized void setEncoding(String encoding) throws SecurityException, UnsupportedEncodingException
+    {
+        super.setEncoding(encoding);
+        encoder = null;
+    }
+
+    @Override
+    public synchronized void flush()
+    {
+        super.flush();
+
+        try
+        {
+            out.flush();
+        }
+        catch (final IOException e)
+        {
+            reportError(null, e, ErrorManager.FLUSH_FAILURE);
+        }
     }
 
     @Override
     public synchronized void close()
     {
+        if (flushTask != null)
+            flushTask.cancel(false);
+
+        if (shutdownHook != null)
+        {
+            try
+            {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            }
+            catch (final IllegalStateException ignore)
+            {
+                // 終了処理中はフックがフラッシュする
+            }
+        }
+
         flush();
     }
+
+    /**
+     * バッファの内容をエンコードしてストリームに書き込みます.
+     */
+    private void write(StringBuilder message) throws IOException
+    {
+        final int length = message.length();
+
+        if (chars.length < length || chars.length > MAX_RETAINED_CHARS)
+            allocateChars(Math.max(length, 256));
+
+        message.getChars(0, length, chars, 0);
+        charBuffer.clear();
+        charBuffer.limit(length);
+
+        final CharsetEncoder enc = encoder();
+        enc.reset();
+
+        CoderResult result = enc.encode(charBuffer, bytes, true);
+        while (result.isOverflow())
+        {
+            drain();
+            result = enc.encode(charBuffer, bytes, true);
+        }
+
+        result = enc.flush(bytes);
+        while (result.isOverflow())
+        {
+            drain();
+            result = enc.flush(bytes);
+        }
+
+        drain();
+    }
+
+    private void drain() throws IOException
+    {
+        out.write(bytes.array(), 0, bytes.position());
+        bytes.clear();
+    }
+
+    private void allocateChars(int size)
+    {
+        chars = new char[size];
+        charBuffer = CharBuffer.wrap(chars);
+    }
+
+    private CharsetEncoder encoder()
+    {
+        if (encoder == null)
+        {
+            final String encoding = getEncoding();
+            encoder = (encoding != null ? Charset.forName(encoding) : Charset.defaultCharset()).newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        return encoder;
+    }
 }
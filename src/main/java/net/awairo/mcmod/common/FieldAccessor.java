@@ -0,0 +1,471 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static net.awairo.mcmod.common.PreconditionUtils.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.common.base.Throwables;
+
+/**
+ * MethodHandle を使用したフィールドアクセサー.
+ *
+ * <p>
+ * フィールドを一度だけ MethodHandle に変換し、{@link Field#get(Object)} を使わずに値を読み書きします。
+ * アクセサーは使い回すことを前提としているため、static final なフィールドに保持してください。
+ * </p>
+ * <p>
+ * JIT による定数畳み込みまで期待する場合は、{@link #getGetterHandle()} で取得したハンドルを呼び出し側の
+ * static final フィールドに保持し、{@code (Object)Object} 型で invokeExact してください。
+ * </p>
+ *
+ * @param <T>
+ *            フィールドの型
+ * @author alalwww
+ */
+public final class FieldAccessor<T>
+{
+    private static final Logger LOG = CommonLogger.getLogger();
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final MethodHandle getter;
+    @Nullable
+    private final MethodHandle setter;
+
+    /** プリミティブ型フィールドの場合の、ボクシングしないハンドル. */
+    @Nullable
+    private final MethodHandle primitiveGetter;
+    @Nullable
+    private final MethodHandle primitiveSetter;
+
+    /**
+     * Constructor.
+     *
+     * @param field
+     *            アクセス可能にしたフィールド
+     */
+    private FieldAccessor(Field field) throws IllegalAccessException
+    {
+        this.field = field;
+
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final boolean isStatic = Modifier.isStatic(field.getModifiers());
+
+        final Class<?> type = field.getType();
+
+        MethodHandle get = lookup.unreflectGetter(field);
+        if (isStatic)
+            get = MethodHandles.dropArguments(get, 0, Object.class);
+        getter = get.asType(GETTER_TYPE);
+        primitiveGetter = type.isPrimitive() ? get.asType(MethodType.methodType(type, Object.class)) : null;
+
+        if (Modifier.isFinal(field.getModifiers()))
+        {
+            setter = null;
+            primitiveSetter = null;
+            return;
+        }
+
+        MethodHandle set = lookup.unreflectSetter(field);
+        if (isStatic)
+            set = MethodHandles.dropArguments(set, 0, Object.class);
+        setter = set.asType(SETTER_TYPE);
+        primitiveSetter = type.isPrimitive()
+                ? set.asType(MethodType.methodType(void.class, Object.class, type))
+                : null;
+    }
+
+    /**
+     * フィールドアクセサーを生成します.
+     *
+     * @param field
+     *            フィールド
+     * @return フィールドアクセサー
+     */
+    @Nonnull
+    public static <T> FieldAccessor<T> of(@Nonnull Field field)
+    {
+        checkArgNotNull(field);
+        try
+        {
+            field.setAccessible(true);
+            return new FieldAccessor<>(field);
+        }
+        catch (final Exception e)
+        {
+            LOG.severe(e, "reflection failed. (field=%s)", field);
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * フィールドの値を取得します.
+     *
+     * @param instance
+     *            フィールドを持つクラスインスタンス または static フィールドの場合は null
+     * @return フィールドの値
+     */
+    @Nullable
+    public T get(@Nullable Object instance)
+    {
+        try
+        {
+            @SuppressWarnings("unchecked")
+            final T value = (T) getter.invokeExact(instance);
+            return value;
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance);
+        }
+    }
+
+    /**
+     * フィールドに値を設定します.
+     *
+     * @param instance
+     *            フィールドを持つクラスインスタンス または static フィールドの場合は null
+     * @param value
+     *            設定する値
+     * @throws UnsupportedOperationException
+     *             final フィールドの場合
+     */
+    public void set(@Nullable Object instance, @Nullable T value)
+    {
+        if (setter == null)
+            throw new UnsupportedOperationException("final field. : " + field);
+
+        try
+        {
+            setter.invokeExact(instance, (Object) value);
+        }
+        catch (final Throwable e)
+        {
+            LOG.severe(e, "reflection failed. (field=%s, instance=%s, value=%s)", field, instance, value);
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * int フィールドの値をボクシングせずに取得します.
+     *
+     * @param instance
+     *            フィールドを持つクラスインスタンス または static フィールドの場合は null
+     * @return フィールドの値
+     * @throws IllegalArgumentException
+     *             int フィールドでない場合
+     */
+    public int getInt(@Nullable Object instance)
+    {
+        final MethodHandle getter = primitiveGetter(int.class);
+
+        try
+        {
+            return (int) getter.invokeExact(instance);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance);
+        }
+    }
+
+    /**
+     * int フィールドに値をボクシングせずに設定します.
+     *
+     * @param instance
+     *            フィールドを持つクラスインスタンス または static フィールドの場合は null
+     * @param value
+     *            設定する値
+     * @throws IllegalArgumentException
+     *             int フィールドでない場合
+     * @throws UnsupportedOperationException
+     *             final フィールドの場合
+     */
+    public void setInt(@Nullable Object instance, int value)
+    {
+        final MethodHandle setter = primitiveSetter(int.class);
+
+        try
+        {
+            setter.invokeExact(instance, value);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance);
+        }
+    }
+
+    /**
+     * long フィールドの値をボクシングせずに取得します.
+     *
+     * @param instance
+     *            フィールドを持つクラスインスタンス または static フィールドの場合は null
+     * @return フィールドの値
+     * @throws IllegalArgumentException
+     *             long フィールドでない場合
+     */
+    public long getLong(@Nullable Object instance)
+    {
+        final MethodHandle getter = primitiveGetter(long.class);
+
+        try
+        {
+            return (long) getter.invokeExact(instance);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance);
+        }
+    }
+
+    /**
+     * long フィールドに値をボクシングせずに設定します.
+     *
+     * @param instance
+     *            フィールドを持つクラスインスタンス または static フィールドの場合は null
+     * @param value
+     *            設定する値
+     * @throws IllegalArgumentException
+     *             long フィールドでない場合
+     * @throws UnsupportedOperationException
+     *             final フィールドの場合
+     */
+    public void setLong(@Nullable Object instance, long value)
+    {
+        final MethodHandle setter = primitiveSetter(long.class);
+
+        try
+        {
+            setter.invokeExact(instance, value);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance);
+        }
+    }
+
+    /**
+     * float フィールドの値をボクシングせずに取得します.
+     *
+     * @param instance
+     *            フィールドを持つクラスインスタンス または static フィールドの場合は null
+     * @return フィールドの値
+     * @throws IllegalArgumentException
+     *             float フィールドでない場合
+     */
+    public float getFloat(@Nullable Object instance)
+    {
+        final MethodHandle getter = primitiveGetter(float.class);
+
+        try
+        {
+            return (float) getter.invokeExact(instance);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance);
+        }
+    }
+
+    /**
+     * float フィールドに値をボクシングせずに設定します.
+     *
+     * @param instance
+     *            フィールドを持つクラスインスタンス または static フィールドの場合は null
+     * @param value
+     *            設定する値
+     * @throws IllegalArgumentException
+     *             float フィールドでない場合
+     * @throws UnsupportedOperationException
+     *             final フィールドの場合
+     */
+    public void setFloat(@Nullable Object instance, float value)
+    {
+        final MethodHandle setter = primitiveSetter(float.class);
+
+        try
+        {
+            setter.invokeExact(instance, value);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance);
+        }
+    }
+
+    /**
+     * double フィールドの値をボクシングせずに取得します.
+     *
+     * @param instance
+     *            フィールドを持つクラスインスタンス または static フィールドの場合は null
+     * @return フィールドの値
+     * @throws IllegalArgumentException
+     *             double フィールドでない場合
+     */
+    public double getDouble(@Nullable Object instance)
+    {
+        final MethodHandle getter = primitiveGetter(double.class);
+
+        try
+        {
+            return (double) getter.invokeExact(instance);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance);
+        }
+    }
+
+    /**
+     * double フィールドに値をボクシングせずに設定します.
+     *
+     * @param instance
+     *            フィールドを持つクラスインスタンス または static フィールドの場合は null
+     * @param value
+     *            設定する値
+     * @throws IllegalArgumentException
+     *             double フィールドでない場合
+     * @throws UnsupportedOperationException
+     *             final フィールドの場合
+     */
+    public void setDouble(@Nullable Object instance, double value)
+    {
+        final MethodHandle setter = primitiveSetter(double.class);
+
+        try
+        {
+            setter.invokeExact(instance, value);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance);
+        }
+    }
+
+    /**
+     * boolean フィールドの値をボクシングせずに取得します.
+     *
+     * @param instance
+     *            フィールドを持つクラスインスタンス または static フィールドの場合は null
+     * @return フィールドの値
+     * @throws IllegalArgumentException
+     *             boolean フィールドでない場合
+     */
+    public boolean getBoolean(@Nullable Object instance)
+    {
+        final MethodHandle getter = primitiveGetter(boolean.class);
+
+        try
+        {
+            return (boolean) getter.invokeExact(instance);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance);
+        }
+    }
+
+    /**
+     * boolean フィールドに値をボクシングせずに設定します.
+     *
+     * @param instance
+     *            フィールドを持つクラスインスタンス または static フィールドの場合は null
+     * @param value
+     *            設定する値
+     * @throws IllegalArgumentException
+     *             boolean フィールドでない場合
+     * @throws UnsupportedOperationException
+     *             final フィールドの場合
+     */
+    public void setBoolean(@Nullable Object instance, boolean value)
+    {
+        final MethodHandle setter = primitiveSetter(boolean.class);
+
+        try
+        {
+            setter.invokeExact(instance, value);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance);
+        }
+    }
+
+    /**
+     * 型を検証してハンドルを取得します. 呼び出し側の誤りのため、try の外で呼び出してログを出力せずに例外を投げます.
+     */
+    private MethodHandle primitiveGetter(Class<?> type)
+    {
+        if (field.getType() != type)
+            throw new IllegalArgumentException("field type mismatch. (field=" + field + ", type=" + type + ")");
+
+        return primitiveGetter;
+    }
+
+    private MethodHandle primitiveSetter(Class<?> type)
+    {
+        if (field.getType() != type)
+            throw new IllegalArgumentException("field type mismatch. (field=" + field + ", type=" + type + ")");
+
+        if (primitiveSetter == null)
+            throw new UnsupportedOperationException("final field. : " + field);
+
+        return primitiveSetter;
+    }
+
+    private RuntimeException failed(Throwable e, @Nullable Object instance)
+    {
+        LOG.severe(e, "reflection failed. (field=%s, instance=%s)", field, instance);
+        return Throwables.propagate(e);
+    }
+
+    /**
+     * 値を取得する MethodHandle を取得します.
+     *
+     * @return {@code (Object)Object} 型のハンドル
+     */
+    @Nonnull
+    public MethodHandle getGetterHandle()
+    {
+        return getter;
+    }
+
+    /**
+     * 対象のフィールドを取得します.
+     *
+     * @return フィールド
+     */
+    @Nonnull
+    public Field getField()
+    {
+        return field;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "FieldAccessor(" + field + ")";
+    }
+}
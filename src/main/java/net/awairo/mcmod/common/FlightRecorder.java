@@ -0,0 +1,250 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static com.google.common.base.Preconditions.*;
+import static net.awairo.mcmod.common.PreconditionUtils.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.LogRecord;
+
+import javax.annotation.Nonnull;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * 直近のログレコードを、出力しないレベルのものも含めてメモリーに保持するフライトレコーダー.
+ *
+ * <p>
+ * レコードはフォーマットせずに固定サイズのリングに参照だけを書き込み、古いものから上書きします。
+ * 書き込みで共有するのはインデックスの加算一つだけで、ロックは取りません。
+ * {@link #dump()} でファイルに書き出すまで、フォーマットもディスクへの書き込みも行いません。
+ * 出力しないレコードは {@link LazyLogRecord#freeze()} で引数を記録した時点の値に固定してから保持します。
+ * インデックスをスレッドごとに分けないのは、どのスレッドのレコードも同じ順序で全容量を使って保持するためです。
+ * </p>
+ * <p>
+ * {@link #dumpAsync()} による書き出しは、前回から一定の間隔を空けた場合だけ行います。
+ * </p>
+ *
+ * @author alalwww
+ */
+final class FlightRecorder
+{
+    /** 書き出しの最小間隔の既定値(ミリ秒). */
+    static final long DEFAULT_DUMP_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final Comparator<LogRecord> SEQUENCE_ORDER = new Comparator<LogRecord>()
+    {
+        @Override
+        public int compare(LogRecord o1, LogRecord o2)
+        {
+            return Long.compare(o1.getSequenceNumber(), o2.getSequenceNumber());
+        }
+    };
+
+    private final AtomicReferenceArray<LogRecord> slots;
+    private final int mask;
+    private final AtomicLong index = new AtomicLong();
+
+    private final Path directory;
+    private final String name;
+    private final AtomicBoolean dumping = new AtomicBoolean();
+    private final long dumpIntervalNanos;
+    private final AtomicLong lastDump;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *            保持するレコードの数. 2 の累乗に切り上げます
+     * @param directory
+     *            書き出すディレクトリ
+     * @param name
+     *            書き出すファイル名の接頭辞
+     */
+    FlightRecorder(int capacity, Path directory, String name)
+    {
+        this(capacity, directory, name, DEFAULT_DUMP_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *            保持するレコードの数. 2 の累乗に切り上げます
+     * @param directory
+     *            書き出すディレクトリ
+     * @param name
+     *            書き出すファイル名の接頭辞
+     * @param dumpIntervalMillis
+     *            {@link #dumpAsync()} で書き出す最小間隔(ミリ秒)
+     */
+    FlightRecorder(int capacity, Path directory, String name, long dumpIntervalMillis)
+    {
+        checkArgument(capacity > 0, "capacity must be positive. : %s", capacity);
+        checkArgument(dumpIntervalMillis >= 0, "dumpIntervalMillis must not be negative. : %s", dumpIntervalMillis);
+
+        final int size = capacity > 1 ? Integer.highestOneBit(capacity - 1) << 1 : 1;
+        slots = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+        this.directory = checkArgNotNull(directory);
+        this.name = checkArgNotNull(name);
+        dumpIntervalNanos = TimeUnit.MILLISECONDS.toNanos(dumpIntervalMillis);
+        lastDump = new AtomicLong(System.nanoTime() - dumpIntervalNanos);
+    }
+
+    /**
+     * 書き出しを実行するスレッド. 全てのフライトレコーダーで共有します.
+     */
+    private static final class Dumper
+    {
+        private static final Executor EXECUTOR = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("AwA flight recorder dump").build());
+    }
+
+    /**
+     * @return 保持するレコードの数
+     */
+    int capacity()
+    {
+        return mask + 1;
+    }
+
+    /**
+     * レコードを保持します.
+     *
+     * @param record
+     *            レコード
+     */
+    void record(LogRecord record)
+    {
+        slots.lazySet((int) (index.getAndIncrement() & mask), record);
+    }
+
+    /**
+     * 保持しているレコードを古い順に取得します.
+     *
+     * @return レコード
+     */
+    @Nonnull
+    List<LogRecord> snapshot()
+    {
+        final List<LogRecord> records = Lists.newArrayListWithCapacity(capacity());
+
+        for (int i = 0; i < slots.length(); i++)
+        {
+            final LogRecord record = slots.get(i);
+            if (record != null)
+                records.add(record);
+        }
+
+        Collections.sort(records, SEQUENCE_ORDER);
+        return records;
+    }
+
+    /**
+     * 保持しているレコードをフォーマットしてファイルに書き出します.
+     *
+     * @return 書き出したファイル
+     * @throws IOException
+     *             書き込めない場合
+     */
+    @Nonnull
+    Path dump() throws IOException
+    {
+        final List<LogRecord> records = snapshot();
+
+        Files.createDirectories(directory);
+        final Path file = directory.resolve(String.format("%s-flight-%s.log", name,
+                new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date())));
+
+        final LogFormatter.Buffer buffer = new LogFormatter.Buffer();
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8))
+        {
+            for (final LogRecord record : records)
+            {
+                writer.append(buffer.format(record));
+                buffer.trim();
+            }
+        }
+
+        return file;
+    }
+
+    /**
+     * 書き出しを開始できるか判定し、開始できる場合は書き出し中にします.
+     *
+     * <p>
+     * 書き出し中の場合と、前回の書き出しから最小間隔が経過していない場合は開始できません。
+     * </p>
+     *
+     * @return 開始できる場合 true
+     */
+    boolean acquireDump()
+    {
+        final long now = System.nanoTime();
+        final long last = lastDump.get();
+
+        if (now - last < dumpIntervalNanos || !lastDump.compareAndSet(last, now))
+            return false;
+
+        return dumping.compareAndSet(false, true);
+    }
+
+    /**
+     * デーモンスレッドでファイルに書き出します. 書き出し中の場合と、前回の書き出しから最小間隔が経過していない場合は何もしません.
+     */
+    void dumpAsync()
+    {
+        if (!acquireDump())
+            return;
+
+        Dumper.EXECUTOR.execute(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    final Path file = dump();
+                    CommonLogger.getLogger().info("flight recorder dumped. (file=%s)", file);
+                }
+                catch (final IOException | RuntimeException e)
+                {
+                    CommonLogger.getLogger().warning(e, "flight recorder dump failed. (dir=%s)", directory);
+                }
+                finally
+                {
+                    dumping.set(false);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static net.awairo.mcmod.common.PreconditionUtils.*;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.common.base.Supplier;
+
+/**
+ * 文字列化をフォーマットまで遅らせるログの引数.
+ *
+ * <p>
+ * {@link #toString()} を初めて呼び出した時に値を取得して文字列化し、以降はその文字列を返します。
+ * ログのメッセージはレコードを出力する時にフォーマットするため、出力しないレベルのログでは値を取得せず、
+ * 非同期出力では書き込みスレッドで取得します。
+ * </p>
+ * <p>
+ * 非同期出力では呼び出し元から戻った後に値を取得するため、後から変更されるオブジェクトを参照する場合は注意してください。
+ * </p>
+ *
+ * @author alalwww
+ */
+public final class LazyArg
+{
+    private final Supplier<?> supplier;
+    private volatile String value;
+
+    private LazyArg(Supplier<?> supplier)
+    {
+        this.supplier = supplier;
+    }
+
+    /**
+     * 値を取得する Supplier から生成します.
+     *
+     * @param supplier
+     *            値を取得する Supplier
+     * @return 引数 または supplier が null の場合 null
+     */
+    @Nullable
+    public static LazyArg of(@Nullable Supplier<?> supplier)
+    {
+        return supplier != null ? new LazyArg(supplier) : null;
+    }
+
+    /**
+     * {@link Arrays#toString(Object[])} を遅らせる引数を生成します.
+     *
+     * @param array
+     *            配列
+     * @return 引数
+     */
+    @Nonnull
+    public static LazyArg arrayToString(@Nullable final Object[] array)
+    {
+        return new LazyArg(new Supplier<String>()
+        {
+            @Override
+            public String get()
+            {
+                return Arrays.toString(array);
+            }
+        });
+    }
+
+    @Override
+    public String toString()
+    {
+        String string = value;
+
+        if (string == null)
+        {
+            string = String.valueOf(supplier.get());
+            value = string;
+        }
+
+        return string;
+    }
+}
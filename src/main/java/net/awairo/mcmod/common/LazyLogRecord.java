@@ -0,0 +1,433 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * メッセージを初めて参照した時にフォーマットするログレコード.
+ *
+ * <p>
+ * 時刻とスレッドは生成時に記録するため、非同期出力でフォーマットを書き込みスレッドに任せても、呼び出し元の情報が残ります。
+ * </p>
+ * <p>
+ * 引数は {@link #of(Logger, Level, String)} で生成したレコードに {@code with} で {@value #MAX_ARGS} 個まで追加でき、
+ * 配列を生成せず、プリミティブ型の値もボクシングせずにフィールドに保持します。
+ * フォーマット後も {@link #getArgKind(int)} と {@link #getRawArg(int)} で元の値を取得できます。
+ * </p>
+ *
+ * @author alalwww
+ */
+final class LazyLogRecord extends LogRecord
+{
+    private static final long serialVersionUID = 1L;
+
+    /** {@code with} で追加できる引数の数. */
+    static final int MAX_ARGS = 4;
+
+    /** 引数の種類: 引数なし. */
+    static final char NONE = '\0';
+    /** 引数の種類: オブジェクト. */
+    static final char OBJECT = 'L';
+    /** 引数の種類: int. {@link #getRawArg(int)} は値そのもの. */
+    static final char INT = 'I';
+    /** 引数の種類: long. {@link #getRawArg(int)} は値そのもの. */
+    static final char LONG = 'J';
+    /** 引数の種類: float. {@link #getRawArg(int)} は {@link Float#floatToRawIntBits(float)} の値. */
+    static final char FLOAT = 'F';
+    /** 引数の種類: double. {@link #getRawArg(int)} は {@link Double#doubleToRawLongBits(double)} の値. */
+    static final char DOUBLE = 'D';
+    /** 引数の種類: char. {@link #getRawArg(int)} は値そのもの. */
+    static final char CHAR = 'C';
+
+    /** 出力するロガー. */
+    @Nonnull
+    final transient Logger owner;
+
+    @Nonnull
+    private final String format;
+    @Nullable
+    private transient Object[] args;
+
+    private int argCount;
+    /** 引数ごとの種類. 1 バイトずつ詰めて保持します. */
+    private int kinds;
+    @Nullable
+    private transient Object object1;
+    @Nullable
+    private transient Object object2;
+    @Nullable
+    private transient Object object3;
+    @Nullable
+    private transient Object object4;
+    private long raw1;
+    private long raw2;
+    private long raw3;
+    private long raw4;
+    /** フォーマット済みか. フライトレコーダーの書き出しスレッドからもフォーマットするため volatile にします. */
+    private volatile boolean formatted;
+
+    /**
+     * Constructor.
+     *
+     * @param owner
+     *            出力するロガー
+     * @param level
+     *            ログレベル
+     * @param format
+     *            メッセージフォーマット
+     * @param args
+     *            メッセージ引数
+     * @param thrown
+     *            例外またはエラー
+     */
+    LazyLogRecord(Logger owner, Level level, String format, @Nullable Object[] args, @Nullable Throwable thrown)
+    {
+        super(level, format);
+        this.owner = owner;
+        this.format = format;
+        this.args = args;
+        setThrown(thrown);
+        setLoggerName(owner.logger.getName());
+    }
+
+    /**
+     * 引数を {@code with} で追加するレコードを生成します.
+     *
+     * @param owner
+     *            出力するロガー
+     * @param level
+     *            ログレベル
+     * @param format
+     *            メッセージフォーマット
+     * @return レコード
+     */
+    static LazyLogRecord of(Logger owner, Level level, String format)
+    {
+        return new LazyLogRecord(owner, level, format, null, null);
+    }
+
+    /**
+     * 引数を追加します.
+     *
+     * @param arg
+     *            引数
+     * @return このレコード
+     */
+    LazyLogRecord with(@Nullable Object arg)
+    {
+        return add(OBJECT, arg, 0L);
+    }
+
+    /**
+     * 引数をボクシングせずに追加します.
+     *
+     * @param arg
+     *            引数. byte と short も int として保持します
+     * @return このレコード
+     */
+    LazyLogRecord with(int arg)
+    {
+        return add(INT, null, arg);
+    }
+
+    /**
+     * 引数をボクシングせずに追加します.
+     *
+     * @param arg
+     *            引数
+     * @return このレコード
+     */
+    LazyLogRecord with(long arg)
+    {
+        return add(LONG, null, arg);
+    }
+
+    /**
+     * 引数をボクシングせずに追加します.
+     *
+     * @param arg
+     *            引数
+     * @return このレコード
+     */
+    LazyLogRecord with(float arg)
+    {
+        return add(FLOAT, null, Float.floatToRawIntBits(arg));
+    }
+
+    /**
+     * 引数をボクシングせずに追加します.
+     *
+     * @param arg
+     *            引数
+     * @return このレコード
+     */
+    LazyLogRecord with(double arg)
+    {
+        return add(DOUBLE, null, Double.doubleToRawLongBits(arg));
+    }
+
+    /**
+     * 引数をボクシングせずに追加します.
+     *
+     * @param arg
+     *            引数
+     * @return このレコード
+     */
+    LazyLogRecord with(char arg)
+    {
+        return add(CHAR, null, arg);
+    }
+
+    private LazyLogRecord add(char kind, @Nullable Object object, long raw)
+    {
+        checkState(args == null && argCount < MAX_ARGS, "can not add more arguments. (format=%s)", format);
+
+        switch (argCount)
+        {
+            case 0:
+                object1 = object;
+                raw1 = raw;
+                break;
+            case 1:
+                object2 = object;
+                raw2 = raw;
+                break;
+            case 2:
+                object3 = object;
+                raw3 = raw;
+                break;
+            default:
+                object4 = object;
+                raw4 = raw;
+                break;
+        }
+
+        kinds |= kind << argCount * 8;
+        argCount++;
+        return this;
+    }
+
+    /**
+     * @return メッセージフォーマット
+     */
+    @Nonnull
+    String getFormat()
+    {
+        return format;
+    }
+
+    /**
+     * @return 引数の数
+     */
+    int getArgCount()
+    {
+        return args != null ? args.length : argCount;
+    }
+
+    /**
+     * @param index
+     *            引数のインデックス
+     * @return 引数の種類. {@link #OBJECT} またはプリミティブ型の種類
+     */
+    char getArgKind(int index)
+    {
+        if (args != null)
+            return OBJECT;
+
+        return (char) (kinds >>> index * 8 & 0xFF);
+    }
+
+    /**
+     * @param index
+     *            種類がプリミティブ型の引数のインデックス
+     * @return 引数の値. float と double はビット列の値
+     */
+    long getRawArg(int index)
+    {
+        switch (index)
+        {
+            case 0:
+                return raw1;
+            case 1:
+                return raw2;
+            case 2:
+                return raw3;
+            default:
+                return raw4;
+        }
+    }
+
+    /**
+     * @param index
+     *            種類が {@link #OBJECT} の引数のインデックス
+     * @return 引数
+     */
+    @Nullable
+    Object getArg(int index)
+    {
+        if (args != null)
+            return args[index];
+
+        switch (index)
+        {
+            case 0:
+                return object1;
+            case 1:
+                return object2;
+            case 2:
+                return object3;
+            default:
+                return object4;
+        }
+    }
+
+    /**
+     * 全ての引数を取得します. プリミティブ型の引数はボクシングします.
+     *
+     * @return 引数
+     */
+    @Nonnull
+    Object[] getArgs()
+    {
+        if (args != null)
+            return args;
+
+        final Object[] values = new Object[argCount];
+
+        for (int i = 0; i < argCount; i++)
+        {
+            final long raw = getRawArg(i);
+
+            switch (getArgKind(i))
+            {
+                case INT:
+                    values[i] = Integer.valueOf((int) raw);
+                    break;
+                case LONG:
+                    values[i] = Long.valueOf(raw);
+                    break;
+                case FLOAT:
+                    values[i] = Float.valueOf(Float.intBitsToFloat((int) raw));
+                    break;
+                case DOUBLE:
+                    values[i] = Double.valueOf(Double.longBitsToDouble(raw));
+                    break;
+                case CHAR:
+                    values[i] = Character.valueOf((char) raw);
+                    break;
+                default:
+                    values[i] = getArg(i);
+                    break;
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * 後からフォーマットする場合に備えて、オブジェクトの引数を現在の値に固定します.
+     *
+     * <p>
+     * 出力しないレコードをフライトレコーダーに保持する前に呼び出し、書き出し時点の状態ではなく記録した時点の状態を残します。
+     * 不変な値はそのまま保持し、それ以外は呼び出し元のスレッドで文字列化します。{@link LazyArg} もここで値を取得します。
+     * 書き出しスレッドで任意の {@code toString()} を実行することも、引数のオブジェクトを保持し続けることもなくなります。
+     * </p>
+     *
+     * @return このレコード
+     */
+    LazyLogRecord freeze()
+    {
+        if (args != null)
+        {
+            Object[] copy = null;
+
+            for (int i = 0; i < args.length; i++)
+            {
+                final Object frozen = freeze(args[i]);
+
+                if (frozen == args[i])
+                    continue;
+
+                if (copy == null)
+                    copy = args.clone();
+
+                copy[i] = frozen;
+            }
+
+            if (copy != null)
+                args = copy;
+
+            return this;
+        }
+
+        object1 = freeze(object1);
+        object2 = freeze(object2);
+        object3 = freeze(object3);
+        object4 = freeze(object4);
+        return this;
+    }
+
+    @Nullable
+    private static Object freeze(@Nullable Object value)
+    {
+        if (value == null || value instanceof String || value instanceof Boolean || value instanceof Character
+                || value instanceof Enum)
+            return value;
+
+        if (value instanceof AtomicInteger)
+            return Integer.valueOf(((AtomicInteger) value).get());
+
+        if (value instanceof AtomicLong)
+            return Long.valueOf(((AtomicLong) value).get());
+
+        if (value instanceof Number)
+            return value;
+
+        try
+        {
+            return String.valueOf(value);
+        }
+        catch (final RuntimeException e)
+        {
+            return "<toString() failed: " + e + ">";
+        }
+    }
+
+    @Override
+    public String getMessage()
+    {
+        if (!formatted)
+        {
+            synchronized (this)
+            {
+                if (!formatted)
+                {
+                    setMessage(MessageFormatter.format(this));
+                    formatted = true;
+                }
+            }
+        }
+
+        return super.getMessage();
+    }
+}
@@ -14,14 +14,16 @@
 package net.awairo.mcmod.common;
 
 import java.io.PrintWriter;
-import java.io.StringWriter;
+import java.io.Writer;
 import java.text.SimpleDateFormat;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Formatter;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.collect.Maps;
 
 /**
  * ログフォーマッター.
@@ -31,36 +33,134 @@ import com.google.common.base.Strings;
 final class LogFormatter extends Formatter
 {
     private static final String LINE_SEPARATOR = System.getProperty("line.separator");
-    private SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS ");
+
+    /** 秒までフォーマットした日時の最新のキャッシュ. */
+    private static volatile SecondPrefix lastPrefix = new SecondPrefix(Long.MIN_VALUE, "");
+
+    private static final String TRACE_TAG = getLevelString("TRACE");
+    private static final String COMMON_DEBUG_TAG = getLevelString("C DEBUG");
+    private static final String DEBUG_TAG = getLevelString("DEBUG");
+    private static final String INFO_TAG = getLevelString(Level.INFO.getName());
+    private static final String WARNING_TAG = getLevelString(Level.WARNING.getName());
+    private static final String SEVERE_TAG = getLevelString(Level.SEVERE.getName());
+
+    /** ロガー名ごとの "(名前の末尾) ". */
+    private static final ConcurrentMap<String, String> NAME_TAGS = Maps.newConcurrentMap();
+
+    /** {@link #format(LogRecord)} 用のスレッドごとのバッファ. */
+    private static final ThreadLocal<Buffer> BUFFERS = new ThreadLocal<Buffer>()
+    {
+        @Override
+        protected Buffer initialValue()
+        {
+            return new Buffer();
+        }
+    };
 
     @Override
     public String format(LogRecord record)
     {
-        final StringBuilder msg = new StringBuilder();
+        final Buffer buffer = BUFFERS.get();
+        final String formatted = buffer.format(record).toString();
+        buffer.trim();
+        return formatted;
+    }
 
-        msg.append(dateFormat.format(record.getMillis()));
+    /**
+     * レコードをフォーマットし、追加します.
+     *
+     * @param record
+     *            レコード
+     * @param msg
+     *            追加先
+     * @param stackTraceWriter
+     *            スタックトレースを追加先に書き込むライター
+     */
+    static void formatTo(LogRecord record, StringBuilder msg, PrintWriter stackTraceWriter)
+    {
+        appendTimestamp(msg, record.getMillis());
         msg.append(getLevelString(record.getLevel()));
-
-        appendLoggerName(msg, record.getLoggerName());
-
+        msg.append(getNameTag(record.getLoggerName()));
         msg.append(record.getMessage());
         msg.append(LINE_SEPARATOR);
 
-        appendError(msg, record.getThrown());
+        final Throwable thrown = record.getThrown();
+        if (thrown != null)
+        {
+            thrown.printStackTrace(stackTraceWriter);
+            stackTraceWriter.flush();
+        }
+    }
+
+    /**
+     * "yyyy-MM-dd HH:mm:ss.SSS " の形式で日時を追加します.
+     *
+     * <p>
+     * 秒までの部分はキャッシュし、同じ秒の間はミリ秒の 3 桁だけを追加します。
+     * キャッシュは不変なオブジェクトを volatile なフィールドで入れ替えるため、複数のスレッドから同時に呼び出せます。
+     * </p>
+     *
+     * @param msg
+     *            追加先
+     * @param millis
+     *            日時
+     */
+    @VisibleForTesting
+    static void appendTimestamp(StringBuilder msg, long millis)
+    {
+        final long second = millis >= 0 ? millis / 1000 : (millis - 999) / 1000;
+        SecondPrefix prefix = lastPrefix;
+
+        if (prefix.second != second)
+        {
+            prefix = new SecondPrefix(second, new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.").format(second * 1000));
+            lastPrefix = prefix;
+        }
+
+        final int ms = (int) (millis - second * 1000);
+
+        msg.append(prefix.text);
+        if (ms < 100)
+            msg.append('0');
+        if (ms < 10)
+            msg.append('0');
+        msg.append(ms).append(' ');
+    }
+
+    /**
+     * 秒までフォーマットした日時.
+     */
+    private static final class SecondPrefix
+    {
+        private final long second;
+        private final String text;
 
-        return msg.toString();
+        private SecondPrefix(long second, String text)
+        {
+            this.second = second;
+            this.text = text;
+        }
     }
 
     private static String getLevelString(Level lvl)
     {
         if (lvl == Level.FINEST)
-            return getLevelString("TRACE");
+            return TRACE_TAG;
 
         if (lvl == Level.FINER)
-            return getLevelString("C DEBUG");
+            return COMMON_DEBUG_TAG;
 
         if (lvl == Level.FINE)
-            return getLevelString("DEBUG");
+            return DEBUG_TAG;
+
+        if (lvl == Level.INFO)
+            return INFO_TAG;
+
+        if (lvl == Level.WARNING)
+            return WARNING_TAG;
+
+        if (lvl == Level.SEVERE)
+            return SEVERE_TAG;
 
         return getLevelString(lvl.getName());
     }
@@ -71,25 +171,100 @@ final class LogFormatter extends Formatter
         return "[" + Strings.padEnd(levelName.toUpperCase(), 7, ' ') + "]";
     }
 
-    private static void appendLoggerName(StringBuilder msg, String loggerName)
+    private static String getNameTag(String loggerName)
     {
         if (loggerName == null || loggerName.length() <= 0)
-            return;
+            return "";
 
-        final int index = loggerName.lastIndexOf(".");
-        if (index >= 0)
-            loggerName = loggerName.substring(index + 1);
+        String tag = NAME_TAGS.get(loggerName);
 
-        msg.append("(").append(loggerName).append(") ");
+        if (tag == null)
+        {
+            final int index = loggerName.lastIndexOf(".");
+            tag = "(" + (index >= 0 ? loggerName.substring(index + 1) : loggerName) + ") ";
+            NAME_TAGS.put(loggerName, tag);
+        }
+
+        return tag;
     }
 
-    private static void appendError(StringBuilder msg, Throwable throwable)
+    /**
+     * 使い回すフォーマット用のバッファ. スレッドごと、またはハンドラーごとに保持します.
+     */
+    static final class Buffer
     {
-        if (throwable == null)
-            return;
+        /** これより大きくなったバッファは縮めます. */
+        private static final int MAX_RETAINED_CAPACITY = 8192;
+
+        private StringBuilder builder = new StringBuilder(256);
+        private final StringBuilderWriter writer = new StringBuilderWriter();
+        private final PrintWriter stackTraceWriter = new PrintWriter(writer);
+
+        /**
+         * レコードをフォーマットします.
+         *
+         * @param record
+         *            レコード
+         * @return フォーマットしたバッファ. 次にこのメソッドを呼び出すまで有効です
+         */
+        StringBuilder format(LogRecord record)
+        {
+            builder.setLength(0);
+            writer.target = builder;
+            formatTo(record, builder, stackTraceWriter);
+            return builder;
+        }
+
+        /**
+         * 長いスタックトレースなどで大きくなったバッファを縮めます.
+         */
+        void trim()
+        {
+            if (builder.capacity() > MAX_RETAINED_CAPACITY)
+                builder = new StringBuilder(256);
+        }
+    }
+
+    /**
+     * StringBuilder に書き込むライター. {@link java.io.StringWriter} と違い、書き込み先を差し替えられます.
+     */
+    private static final class StringBuilderWriter extends Writer
+    {
+        private StringBuilder target;
+
+        @Override
+        public void write(int c)
+        {
+            target.append((char) c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len)
+        {
+            target.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len)
+        {
+            target.append(str, off, off + len);
+        }
+
+        @Override
+        public Writer append(CharSequence csq)
+        {
+            target.append(csq);
+            return this;
+        }
+
+        @Override
+        public void flush()
+        {
+        }
 
-        final StringWriter output = new StringWriter();
-        throwable.printStackTrace(new PrintWriter(output));
-        msg.append(output.toString());
+        @Override
+        public void close()
+        {
+        }
     }
 }
@@ -0,0 +1,342 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static net.awairo.mcmod.common.PreconditionUtils.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.logging.Level;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * mod ごとのログレベルを実行中に変更するレジストリ.
+ *
+ * <p>
+ * 公開済みのロガーのログレベルを mod id で変更します。変更はロガーのログレベルの下限値を一度に書き換えるため、
+ * 再起動せずに、ウォームアップ済みの JVM のままデバッグログを有効にできます。
+ * </p>
+ * <p>
+ * 次のいずれかで変更できます。
+ * </p>
+ * <ul>
+ * <li>{@link #watch(Path)} で監視する設定ファイル. キーが mod id ({@code *} は全ての mod)、値がログレベルのプロパティファイルです。
+ * ファイルから消した mod は、システムプロパティに従ったログレベルに戻ります</li>
+ * <li>{@link #handleCommand(String...)}. mod のコマンドから引数をそのまま渡します</li>
+ * <li>{@link #setLevel(String, Level)}</li>
+ * </ul>
+ * <p>
+ * ログレベルには {@link Level} の名前または値のほか、TRACE ({@link Level#FINEST}) と DEBUG ({@link Level#FINE}) を使えます。
+ * </p>
+ *
+ * @author alalwww
+ */
+public final class LogLevels
+{
+    /** 全ての mod を表すキー. */
+    public static final String ALL_MODS = "*";
+
+    /** 設定ファイルで指定されたログレベル. まだ生成されていないロガーにも、生成時に適用します. */
+    private static volatile Map<String, Level> configured = ImmutableMap.of();
+
+    private static Thread watcher;
+
+    private LogLevels()
+    {
+    }
+
+    /**
+     * ログレベルの名前を解釈します.
+     *
+     * @param name
+     *            TRACE, DEBUG または {@link Level} の名前か値
+     * @return ログレベル または 解釈できない場合 null
+     */
+    @Nullable
+    public static Level parse(@Nonnull String name)
+    {
+        final String upper = checkArgNotNull(name).trim().toUpperCase();
+
+        if (upper.equals("TRACE"))
+            return Level.FINEST;
+
+        if (upper.equals("DEBUG"))
+            return Level.FINE;
+
+        try
+        {
+            return Level.parse(upper);
+        }
+        catch (final IllegalArgumentException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * mod のログレベルを変更します.
+     *
+     * @param modId
+     *            mod id. {@link #ALL_MODS} の場合は全ての mod
+     * @param level
+     *            ログレベル
+     * @return ログレベルを変更した場合 true, 該当する mod のロガーが無い場合 false
+     */
+    public static boolean setLevel(@Nonnull String modId, @Nonnull Level level)
+    {
+        checkArgNotNull(modId);
+        checkArgNotNull(level);
+
+        if (modId.equals(ALL_MODS))
+        {
+            for (final Logger logger : Logger.getPublishedLoggers())
+                logger.setLevel(level);
+
+            CommonLogger.getLogger().info("log level changed. (modid=%s, level=%s)", modId, level);
+            return true;
+        }
+
+        final Logger logger = Logger.getPublishedLogger(modId);
+
+        if (logger == null)
+            return false;
+
+        logger.setLevel(level);
+        CommonLogger.getLogger().info("log level changed. (modid=%s, level=%s)", modId, level);
+        return true;
+    }
+
+    /**
+     * 全ての mod の現在のログレベルを取得します.
+     *
+     * @return mod id ごとのログレベル
+     */
+    @Nonnull
+    public static SortedMap<String, Level> getLevels()
+    {
+        final SortedMap<String, Level> levels = Maps.newTreeMap();
+
+        for (final Logger logger : Logger.getPublishedLoggers())
+            levels.put(logger.modId, logger.getLevel());
+
+        return levels;
+    }
+
+    /**
+     * コマンドの引数に従ってログレベルを表示または変更します.
+     *
+     * <ul>
+     * <li>引数なし: 全ての mod のログレベル</li>
+     * <li>{@code <modid>}: mod のログレベル</li>
+     * <li>{@code <modid|*> <level>}: ログレベルを変更</li>
+     * </ul>
+     *
+     * @param args
+     *            コマンドの引数
+     * @return コマンドの実行者に表示するメッセージ
+     */
+    @Nonnull
+    public static String handleCommand(@Nonnull String... args)
+    {
+        checkArgNotNull(args);
+
+        if (args.length == 0)
+            return Joiner.on(", ").withKeyValueSeparator("=").join(getLevels());
+
+        if (args.length == 1)
+        {
+            final Logger logger = Logger.getPublishedLogger(args[0]);
+            return logger != null ? args[0] + "=" + logger.getLevel() : "unknown mod id: " + args[0];
+        }
+
+        final Level level = parse(args[1]);
+
+        if (level == null)
+            return "unknown log level: " + args[1];
+
+        return setLevel(args[0], level) ? args[0] + "=" + level : "unknown mod id: " + args[0];
+    }
+
+    /**
+     * 設定ファイルを読み込み、ログレベルを適用します.
+     *
+     * <p>
+     * 前回の読み込みで指定されていて、今回指定されていない mod は、システムプロパティに従ったログレベルに戻します。
+     * </p>
+     *
+     * @param file
+     *            設定ファイル. 存在しない場合は空のファイルとして扱います
+     */
+    public static synchronized void load(@Nonnull Path file)
+    {
+        final Properties properties = new Properties();
+
+        if (Files.isRegularFile(checkArgNotNull(file)))
+        {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8))
+            {
+                properties.load(reader);
+            }
+            catch (final IOException e)
+            {
+                CommonLogger.getLogger().warning(e, "log level config load failed. (file=%s)", file);
+                return;
+            }
+        }
+
+        final Map<String, Level> levels = Maps.newHashMap();
+
+        for (final String modId : properties.stringPropertyNames())
+        {
+            final Level level = parse(properties.getProperty(modId));
+
+            if (level != null)
+                levels.put(modId, level);
+            else
+                CommonLogger.getLogger().warning("unknown log level. (file=%s, modid=%s, level=%s)", file, modId,
+                        properties.getProperty(modId));
+        }
+
+        final Set<String> removed = Sets.newHashSet(configured.keySet());
+        removed.removeAll(levels.keySet());
+        configured = ImmutableMap.copyOf(levels);
+
+        for (final String modId : removed)
+            reset(modId);
+
+        final Level all = levels.get(ALL_MODS);
+        if (all != null)
+            setLevel(ALL_MODS, all);
+
+        for (final Map.Entry<String, Level> entry : levels.entrySet())
+            if (!entry.getKey().equals(ALL_MODS))
+                setLevel(entry.getKey(), entry.getValue());
+    }
+
+    /**
+     * 設定ファイルを読み込み、以降の変更を監視します. 監視は最初の呼び出しの一度だけ開始します.
+     *
+     * @param file
+     *            設定ファイル
+     */
+    public static synchronized void watch(@Nonnull final Path file)
+    {
+        checkArgNotNull(file);
+
+        if (watcher != null)
+            return;
+
+        load(file);
+
+        final WatchService service;
+        try
+        {
+            final Path dir = file.toAbsolutePath().getParent();
+            service = dir.getFileSystem().newWatchService();
+            dir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        }
+        catch (final IOException e)
+        {
+            CommonLogger.getLogger().warning(e, "could not watch the log level config. (file=%s)", file);
+            return;
+        }
+
+        watcher = new Thread("AwA log level watcher")
+        {
+            @Override
+            public void run()
+            {
+                watchLoop(service, file);
+            }
+        };
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * 設定ファイルで指定されたログレベルを取得します.
+     *
+     * @param modId
+     *            mod id
+     * @return ログレベル または 指定されていない場合 null
+     */
+    @Nullable
+    static Level getConfiguredLevel(@Nonnull String modId)
+    {
+        final Map<String, Level> levels = configured;
+        final Level level = levels.get(modId);
+        return level != null ? level : levels.get(ALL_MODS);
+    }
+
+    private static void reset(String modId)
+    {
+        if (modId.equals(ALL_MODS))
+        {
+            for (final Logger logger : Logger.getPublishedLoggers())
+                logger.initLogLevel();
+            return;
+        }
+
+        final Logger logger = Logger.getPublishedLogger(modId);
+        if (logger != null)
+            logger.initLogLevel();
+    }
+
+    private static void watchLoop(WatchService service, Path file)
+    {
+        final Path name = file.getFileName();
+
+        try
+        {
+            while (true)
+            {
+                final WatchKey key = service.take();
+                boolean changed = false;
+
+                for (final WatchEvent<?> event : key.pollEvents())
+                    changed |= name.equals(event.context());
+
+                if (changed)
+                    load(file);
+
+                if (!key.reset())
+                    return;
+            }
+        }
+        catch (final InterruptedException | ClosedWatchServiceException e)
+        {
+            // 監視を終了する
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static net.awairo.mcmod.common.PreconditionUtils.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.google.common.collect.Maps;
+
+/**
+ * ロガーごとのログのメトリクス.
+ *
+ * <p>
+ * 出力したレコード数、ログレベルや流量制限で出力しなかったレコード数、ハンドラーのフォーマットと書き込みの時間を
+ * {@link StripedCounter} で数えます。Mod のプロパティ {@code log.metrics=true} の場合だけロガーが生成し、
+ * {@link Logger#getMetrics()} で取得できます。{@code log.metrics.jmx=true} の場合は、さらに
+ * {@code net.awairo.mcmod:type=LogMetrics,modid=<mod id>} の MXBean として公開します。
+ * </p>
+ *
+ * @author alalwww
+ */
+public final class LogMetrics implements LogMetricsMXBean
+{
+    /** 数えるレベル. 間のレベルは、これより下で最も近いレベルとして数えます. */
+    private static final Level[] LEVELS = { Level.SEVERE, Level.WARNING, Level.INFO, Level.CONFIG, Level.FINE,
+            Level.FINER, Level.FINEST };
+
+    private static final int FILTERED = LEVELS.length;
+    private static final int RATE_LIMITED = FILTERED * 2;
+    private static final int FORMAT_NANOS = RATE_LIMITED + 1;
+    private static final int WRITE_NANOS = FORMAT_NANOS + 1;
+
+    private final String modId;
+    private final StripedCounter counter = new StripedCounter(WRITE_NANOS + 1);
+
+    /**
+     * Constructor.
+     *
+     * @param modId
+     *            mod id
+     */
+    LogMetrics(String modId)
+    {
+        this.modId = checkArgNotNull(modId);
+    }
+
+    /**
+     * レコードを出力したロガーのメトリクスを取得します.
+     *
+     * @param record
+     *            レコード
+     * @return メトリクス または 無効な場合 null
+     */
+    @Nullable
+    static LogMetrics of(LogRecord record)
+    {
+        return record instanceof LazyLogRecord ? ((LazyLogRecord) record).owner.getMetrics() : null;
+    }
+
+    /**
+     * MXBean として登録します. 登録できない場合は警告を出力します.
+     */
+    void register()
+    {
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                    new ObjectName("net.awairo.mcmod:type=LogMetrics,modid=" + ObjectName.quote(modId)));
+        }
+        catch (final JMException | SecurityException e)
+        {
+            CommonLogger.getLogger().warning(e, "log metrics registration failed. (modid=%s)", modId);
+        }
+    }
+
+    /**
+     * 出力したレコードを数えます.
+     */
+    void published(Level level)
+    {
+        counter.increment(index(level));
+    }
+
+    /**
+     * ログレベルにより出力しなかったレコードを数えます.
+     */
+    void filtered(Level level)
+    {
+        counter.increment(FILTERED + index(level));
+    }
+
+    /**
+     * 流量制限により出力しなかったレコードを数えます.
+     */
+    void rateLimited()
+    {
+        counter.increment(RATE_LIMITED);
+    }
+
+    /**
+     * ハンドラーがフォーマットに費やした時間を加算します.
+     */
+    void formatted(long nanos)
+    {
+        counter.add(FORMAT_NANOS, nanos);
+    }
+
+    /**
+     * ハンドラーが書き込みに費やした時間を加算します.
+     */
+    void written(long nanos)
+    {
+        counter.add(WRITE_NANOS, nanos);
+    }
+
+    /**
+     * 出力したレコード数を取得します.
+     *
+     * @param level
+     *            ログレベル
+     * @return レコード数
+     */
+    public long getRecords(@Nonnull Level level)
+    {
+        return counter.sum(index(checkArgNotNull(level)));
+    }
+
+    /**
+     * ログレベルにより出力しなかったレコード数を取得します.
+     *
+     * @param level
+     *            ログレベル
+     * @return レコード数
+     */
+    public long getFilteredRecords(@Nonnull Level level)
+    {
+        return counter.sum(FILTERED + index(checkArgNotNull(level)));
+    }
+
+    @Override
+    public String getModId()
+    {
+        return modId;
+    }
+
+    @Override
+    public Map<String, Long> getRecordsByLevel()
+    {
+        return byLevel(0);
+    }
+
+    @Override
+    public Map<String, Long> getFilteredRecordsByLevel()
+    {
+        return byLevel(FILTERED);
+    }
+
+    @Override
+    public long getRateLimitedRecords()
+    {
+        return counter.sum(RATE_LIMITED);
+    }
+
+    @Override
+    public long getFormatNanos()
+    {
+        return counter.sum(FORMAT_NANOS);
+    }
+
+    @Override
+    public long getWriteNanos()
+    {
+        return counter.sum(WRITE_NANOS);
+    }
+
+    @Override
+    public int getQueueDepth()
+    {
+        final AsyncLogDispatcher dispatcher = AsyncLogDispatcher.get();
+        return dispatcher != null ? dispatcher.queueDepth() : 0;
+    }
+
+    @Override
+    public long getAsyncDroppedRecords()
+    {
+        final AsyncLogDispatcher dispatcher = AsyncLogDispatcher.get();
+        return dispatcher != null ? dispatcher.droppedCount() : 0L;
+    }
+
+    private Map<String, Long> byLevel(int offset)
+    {
+        final Map<String, Long> counts = Maps.newLinkedHashMap();
+
+        for (int i = 0; i < LEVELS.length; i++)
+            counts.put(LEVELS[i].getName(), Long.valueOf(counter.sum(offset + i)));
+
+        return counts;
+    }
+
+    private static int index(Level level)
+    {
+        final int value = level.intValue();
+
+        for (int i = 0; i < LEVELS.length - 1; i++)
+            if (value >= LEVELS[i].intValue())
+                return i;
+
+        return LEVELS.length - 1;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import java.util.Map;
+
+/**
+ * JMX に公開するログのメトリクス.
+ *
+ * @author alalwww
+ * @see LogMetrics
+ */
+public interface LogMetricsMXBean
+{
+    /**
+     * @return mod id
+     */
+    String getModId();
+
+    /**
+     * @return レベル名ごとの出力したレコード数
+     */
+    Map<String, Long> getRecordsByLevel();
+
+    /**
+     * @return レベル名ごとのログレベルにより出力しなかったレコード数
+     */
+    Map<String, Long> getFilteredRecordsByLevel();
+
+    /**
+     * @return 流量制限により出力しなかったレコード数
+     */
+    long getRateLimitedRecords();
+
+    /**
+     * @return ハンドラーがフォーマットに費やしたナノ秒
+     */
+    long getFormatNanos();
+
+    /**
+     * @return ハンドラーが書き込みに費やしたナノ秒
+     */
+    long getWriteNanos();
+
+    /**
+     * @return 非同期出力の書き込み待ちのレコード数. 非同期出力が無効な場合は 0
+     */
+    int getQueueDepth();
+
+    /**
+     * @return 非同期出力のバッファが満杯のため捨てたレコード数. 非同期出力が無効な場合は 0
+     */
+    long getAsyncDroppedRecords();
+}
@@ -0,0 +1,271 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static com.google.common.base.Preconditions.*;
+import static net.awairo.mcmod.common.PreconditionUtils.*;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * 呼び出し箇所ごとのログの流量制限.
+ *
+ * <p>
+ * ループの中で失敗し続ける処理が同じエラーを出力し続け、ログが溢れて tick が I/O で止まることを防ぎます。
+ * 呼び出し箇所はメッセージフォーマットと例外のクラスで区別し、制限を超えたログは数えるだけで捨てます。
+ * 次にそのログを出力できるようになった時に、捨てた数を {@code "repeated 5231 times in last 10s"} のようにまとめて出力します。
+ * 同じログが呼ばれなくなった場合も数が失われないよう、捨て始めてから一定時間後にも出力します。
+ * </p>
+ * <p>
+ * カウンターはロックを使用せず、呼び出し箇所ごとの状態は {@link ConcurrentMap} で保持します。
+ * 区別する呼び出し箇所の数には上限があり、超えた分は制限しません。
+ * </p>
+ *
+ * @author alalwww
+ */
+public final class LogRateLimiter
+{
+    /** 区別する呼び出し箇所の上限. 動的に生成したフォーマットで際限なく増えないようにします. */
+    private static final int MAX_SITES = 1024;
+
+    /** 例外が無い場合のキー. */
+    private static final Class<?> NO_THROWABLE = Void.class;
+
+    private final boolean tokenBucket;
+    private final int permits;
+    private final long intervalNanos;
+
+    private final ConcurrentMap<String, ConcurrentMap<Class<?>, Site>> sites = Maps.newConcurrentMap();
+    private final AtomicInteger siteCount = new AtomicInteger();
+
+    /**
+     * 捨てた数を出力するスレッド. 全ての流量制限で共有します.
+     */
+    private static final class ReportTimer
+    {
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("AwA log rate limiter").build());
+    }
+
+    private LogRateLimiter(boolean tokenBucket, int permits, long interval, TimeUnit unit)
+    {
+        checkArgument(permits > 0, "permits must be positive. : %s", permits);
+        checkArgument(interval > 0, "interval must be positive. : %s", interval);
+
+        this.tokenBucket = tokenBucket;
+        this.permits = permits;
+        intervalNanos = checkArgNotNull(unit).toNanos(interval);
+    }
+
+    /**
+     * 一定時間ごとに決まった数だけ出力する制限を生成します.
+     *
+     * @param permits
+     *            時間あたりに出力する数
+     * @param interval
+     *            時間
+     * @param unit
+     *            時間の単位
+     * @return 流量制限
+     */
+    @Nonnull
+    public static LogRateLimiter fixedWindow(int permits, long interval, @Nonnull TimeUnit unit)
+    {
+        return new LogRateLimiter(false, permits, interval, unit);
+    }
+
+    /**
+     * トークンバケットによる制限を生成します. 最大 permits 個まで連続で出力でき、その後は interval / permits ごとに一つ出力できます.
+     *
+     * @param permits
+     *            バケットの容量
+     * @param interval
+     *            バケットが空から満杯になるまでの時間
+     * @param unit
+     *            時間の単位
+     * @return 流量制限
+     */
+    @Nonnull
+    public static LogRateLimiter tokenBucket(int permits, long interval, @Nonnull TimeUnit unit)
+    {
+        return new LogRateLimiter(true, permits, interval, unit);
+    }
+
+    /**
+     * ログを出力してよいか判定します.
+     *
+     * <p>
+     * 出力してよい場合、前回出力してから捨てたログがあればその数を出力します。
+     * 捨てる場合、その呼び出し箇所で最初に捨てたログであれば、制限の時間が経過した後に捨てた数を出力する予約をします。
+     * </p>
+     *
+     * @param owner
+     *            ロガー
+     * @param level
+     *            ログレベル
+     * @param format
+     *            メッセージフォーマット
+     * @param thrown
+     *            例外またはエラー
+     * @return 出力してよい場合 true
+     */
+    boolean tryAcquire(Logger owner, Level level, String format, @Nullable Throwable thrown)
+    {
+        final Site site = site(format, thrown != null ? thrown.getClass() : NO_THROWABLE);
+
+        if (site == null)
+            return true;
+
+        final long now = System.nanoTime();
+
+        if (!(tokenBucket ? site.tryTake(now) : site.tryCount(now)))
+        {
+            site.owner = owner;
+            site.level = level;
+
+            if (site.suppressed.getAndIncrement() == 0)
+                ReportTimer.EXECUTOR.schedule(site, intervalNanos, TimeUnit.NANOSECONDS);
+
+            return false;
+        }
+
+        site.report(owner, level, now);
+        return true;
+    }
+
+    @Nullable
+    private Site site(String format, Class<?> thrownType)
+    {
+        ConcurrentMap<Class<?>, Site> byType = sites.get(format);
+
+        if (byType == null)
+        {
+            if (siteCount.get() >= MAX_SITES)
+                return null;
+
+            final ConcurrentMap<Class<?>, Site> newMap = Maps.newConcurrentMap();
+            final ConcurrentMap<Class<?>, Site> old = sites.putIfAbsent(format, newMap);
+            byType = old != null ? old : newMap;
+        }
+
+        final Site site = byType.get(thrownType);
+
+        if (site != null)
+            return site;
+
+        if (siteCount.incrementAndGet() > MAX_SITES)
+        {
+            siteCount.decrementAndGet();
+            return null;
+        }
+
+        final Site newSite = new Site(format, System.nanoTime());
+        final Site old = byType.putIfAbsent(thrownType, newSite);
+
+        if (old != null)
+        {
+            siteCount.decrementAndGet();
+            return old;
+        }
+
+        return newSite;
+    }
+
+    /**
+     * 呼び出し箇所ごとの状態.
+     *
+     * <p>
+     * 予約した時刻に実行すると、それまでに捨てた数を出力します。
+     * </p>
+     */
+    private final class Site implements Runnable
+    {
+        private final String format;
+        /** 固定ウィンドウの開始時刻、またはトークンバケットの次のトークンが使える理論上の時刻. */
+        private final AtomicLong time;
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+        private final AtomicLong reportedAt;
+        /** 最後に捨てたログのロガー. 予約した出力で使用します. */
+        private volatile Logger owner;
+        /** 最後に捨てたログのレベル. 予約した出力で使用します. */
+        private volatile Level level;
+
+        private Site(String format, long now)
+        {
+            this.format = format;
+            time = new AtomicLong(tokenBucket ? now - intervalNanos : now);
+            reportedAt = new AtomicLong(now);
+        }
+
+        @Override
+        public void run()
+        {
+            report(owner, level, System.nanoTime());
+        }
+
+        /**
+         * 捨てたログがあれば、その数を出力します.
+         */
+        private void report(Logger owner, Level level, long now)
+        {
+            final long n = suppressed.getAndSet(0);
+
+            if (n <= 0)
+                return;
+
+            final long elapsed = now - reportedAt.getAndSet(now);
+            owner.logRepeated(level, format, n, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+
+        private boolean tryCount(long now)
+        {
+            final long start = time.get();
+
+            if (now - start >= intervalNanos && time.compareAndSet(start, now))
+                count.set(0);
+
+            return count.incrementAndGet() <= permits;
+        }
+
+        private boolean tryTake(long now)
+        {
+            final long emission = intervalNanos / permits;
+
+            for (;;)
+            {
+                final long tat = time.get();
+                final long newTat = Math.max(tat, now - intervalNanos) + emission;
+
+                if (newTat > now)
+                    return false;
+
+                if (time.compareAndSet(tat, newTat))
+                    return true;
+            }
+        }
+    }
+}
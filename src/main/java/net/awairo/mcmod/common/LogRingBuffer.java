@@ -0,0 +1,166 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.annotation.Nullable;
+
+/**
+ * ロックを使用しない固定長のリングバッファ.
+ *
+ * <p>
+ * D. Vyukov の bounded MPMC queue です。スロットごとのシーケンス番号で、書き込みと読み込みの完了を判定します。
+ * 読み込み側も CAS で進めるため、書き込み側が満杯のときに最も古い要素を捨てることもできます。
+ * </p>
+ *
+ * @param <E>
+ *            要素の型
+ * @author alalwww
+ */
+final class LogRingBuffer<E>
+{
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *            容量. 2 の累乗に切り上げます
+     */
+    LogRingBuffer(int capacity)
+    {
+        checkArgument(capacity > 0 && capacity <= 1 << 30, "illegal capacity. : %s", capacity);
+
+        int size = 1;
+        while (size < capacity)
+            size <<= 1;
+
+        mask = size - 1;
+        sequences = new AtomicLongArray(size);
+        elements = new AtomicReferenceArray<>(size);
+
+        for (int i = 0; i < size; i++)
+            sequences.set(i, i);
+    }
+
+    /**
+     * 要素を追加します.
+     *
+     * @param e
+     *            要素
+     * @return 満杯で追加できなかった場合 false
+     */
+    boolean offer(E e)
+    {
+        long pos = tail.get();
+
+        for (;;)
+        {
+            final int index = (int) pos & mask;
+            final long diff = sequences.get(index) - pos;
+
+            if (diff == 0)
+            {
+                if (tail.compareAndSet(pos, pos + 1))
+                {
+                    elements.lazySet(index, e);
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+
+                pos = tail.get();
+            }
+            else if (diff < 0)
+            {
+                return false;
+            }
+            else
+            {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 最も古い要素を取り出します.
+     *
+     * @return 要素 または 空の場合 null
+     */
+    @Nullable
+    E poll()
+    {
+        long pos = head.get();
+
+        for (;;)
+        {
+            final int index = (int) pos & mask;
+            final long diff = sequences.get(index) - (pos + 1);
+
+            if (diff == 0)
+            {
+                if (head.compareAndSet(pos, pos + 1))
+                {
+                    final E e = elements.get(index);
+                    elements.lazySet(index, null);
+                    sequences.set(index, pos + mask + 1);
+                    return e;
+                }
+
+                pos = head.get();
+            }
+            else if (diff < 0)
+            {
+                return null;
+            }
+            else
+            {
+                pos = head.get();
+            }
+        }
+    }
+
+    /**
+     * @return 空の場合 true. 並行して追加されている場合は不正確です
+     */
+    boolean isEmpty()
+    {
+        return head.get() >= tail.get();
+    }
+
+    /**
+     * @return 要素数. 並行して追加または取得されている場合は不正確です
+     */
+    int size()
+    {
+        final long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    /**
+     * @return 容量
+     */
+    int capacity()
+    {
+        return mask + 1;
+    }
+}
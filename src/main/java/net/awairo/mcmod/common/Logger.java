@@ -15,15 +15,31 @@ package net.awairo.mcmod.common;
 
 import static net.awairo.mcmod.common.PreconditionUtils.*;
 
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Filter;
 import java.util.logging.Handler;
 import java.util.logging.Level;
+import java.util.logging.LogManager;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import com.google.common.base.Strings;
+import com.google.common.base.Supplier;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Maps;
 
 /**
@@ -51,6 +67,30 @@ public class Logger
     @Nonnull
     protected final String modId;
 
+    /** 非同期出力. 無効の場合は null. */
+    @Nullable
+    private final AsyncLogDispatcher dispatcher = AsyncLogDispatcher.get();
+
+    /** 流量制限. 制限しない場合は null. */
+    @Nullable
+    private volatile LogRateLimiter rateLimiter;
+
+    /**
+     * 出力するログレベルの下限値. 呼び出しの度にロガーを遡らないよう、レベルの設定時とログマネージャーの設定の変更時に更新します.
+     */
+    private volatile int levelValue = Level.INFO.intValue();
+
+    /** ログを生成するログレベルの下限値. フライトレコーダーが有効な場合は全てのレベル. */
+    private volatile int enabledValue = Level.INFO.intValue();
+
+    /** フライトレコーダー. 無効の場合は null. */
+    @Nullable
+    private final FlightRecorder recorder;
+
+    /** メトリクス. 無効の場合は null. */
+    @Nullable
+    private final LogMetrics metrics;
+
     /** modの環境情報. */
     public final Env modEnv;
 
@@ -58,6 +98,54 @@ public class Logger
     {
         PUBLISHED_LOGGERS = Maps.newConcurrentMap();
         SYS_ERR = getSysErr();
+        addConfigurationListener();
+    }
+
+    /**
+     * ログマネージャーの設定が変更された時に、全てのロガーのログレベルの下限値を更新するリスナーを登録します.
+     */
+    // Java 7 と 8 には addPropertyChangeListener しか無いため、非推奨でも先に使う
+    @SuppressWarnings("deprecation")
+    private static void addConfigurationListener()
+    {
+        final Runnable refresh = new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                for (final Logger logger : PUBLISHED_LOGGERS.values())
+                    logger.refreshLevel();
+            }
+        };
+
+        try
+        {
+            LogManager.getLogManager().addPropertyChangeListener(new PropertyChangeListener()
+            {
+                @Override
+                public void propertyChange(PropertyChangeEvent evt)
+                {
+                    refresh.run();
+                }
+            });
+        }
+        catch (final LinkageError e)
+        {
+            // Java 9 以降は addPropertyChangeListener が無いため addConfigurationListener を使う
+            try
+            {
+                LogManager.class.getMethod("addConfigurationListener", Runnable.class)
+                        .invoke(LogManager.getLogManager(), refresh);
+            }
+            catch (final Exception ignore)
+            {
+                // 設定の変更は setLevel の呼び出しまで反映されない
+            }
+        }
+        catch (final SecurityException ignore)
+        {
+            // 設定の変更は setLevel の呼び出しまで反映されない
+        }
     }
 
     private static PrintStream getSysErr()
@@ -76,6 +164,47 @@ public class Logger
         }
     }
 
+    /**
+     * 数値のプロパティを解析します.
+     *
+     * <p>
+     * ロガーの生成中に呼ばれるため、不正な値でも例外は投げず、標準エラーに報告して既定値を使用します。
+     * </p>
+     *
+     * @param name
+     *            プロパティ名
+     * @param value
+     *            プロパティの値
+     * @param defaultValue
+     *            省略時 または 不正な値の場合の既定値
+     * @param minValue
+     *            許容する最小値
+     * @param maxValue
+     *            許容する最大値
+     * @return 解析した値 または 既定値
+     */
+    static long parseProperty(String name, @Nullable String value, long defaultValue, long minValue, long maxValue)
+    {
+        if (Strings.isNullOrEmpty(value))
+            return defaultValue;
+
+        try
+        {
+            final long parsed = Long.parseLong(value.trim());
+
+            if (parsed >= minValue && parsed <= maxValue)
+                return parsed;
+        }
+        catch (final NumberFormatException ignore)
+        {
+            // 既定値を使用する
+        }
+
+        SYS_ERR.println("illegal property value, the default is used. (" + name + "=" + value + ", default="
+                + defaultValue + ")");
+        return defaultValue;
+    }
+
     public static Logger getLogger(@Nonnull Env modEnv)
     {
         final String modid = modEnv.getModId();
@@ -95,6 +224,28 @@ public class Logger
         }
     }
 
+    /**
+     * 公開済みのロガーを取得します.
+     *
+     * @param modid
+     *            mod id
+     * @return ロガー または まだ生成されていない場合 null
+     */
+    @Nullable
+    static Logger getPublishedLogger(@Nonnull String modid)
+    {
+        return PUBLISHED_LOGGERS.get(modid);
+    }
+
+    /**
+     * @return 公開済みの全てのロガー
+     */
+    @Nonnull
+    static Collection<Logger> getPublishedLoggers()
+    {
+        return Collections.unmodifiableCollection(PUBLISHED_LOGGERS.values());
+    }
+
     private static Logger addPublishedLogger(Logger logger)
     {
         synchronized (Logger.class)
@@ -119,24 +270,149 @@ public class Logger
         this.modEnv = modEnv;
         this.modId = modEnv.getModId();
         logger = createNewLogger();
+        recorder = createFlightRecorder();
+        metrics = createMetrics();
         initLogLevel();
         addPublishedLogger(this);
-        info("create logger. LEVEL=%s", modId, getLogLevel(logger));
+        info("create logger. LEVEL=%s", modId, getEffectiveLevel());
     }
 
     /**
      * 新しいログハンドラー生成.
      *
+     * <p>
+     * システムプロパティ {@code net.awairo.log.console.buffered=true} の場合は、バッファリングするハンドラーを生成します。
+     * フラッシュする間隔は {@code net.awairo.log.console.flushInterval} (ミリ秒、省略時は 200) で指定します。
+     * </p>
+     *
      * @return ハンドラー
      */
     @Nonnull
     protected Handler createNewConsoleHandler()
     {
-        final Handler handler = new DebugConsoleHandler(SYS_ERR);
+        final Handler handler;
+
+        if (Env.INSTANCE.isModPropertyEnabled("log.console.buffered"))
+        {
+            final String interval = Env.INSTANCE.getModProperty("log.console.flushInterval");
+            handler = new DebugConsoleHandler(SYS_ERR, 8192,
+                    parseProperty("log.console.flushInterval", interval, 200, 1, Long.MAX_VALUE));
+        }
+        else
+        {
+            handler = new DebugConsoleHandler(SYS_ERR);
+        }
+
         handler.setFormatter(new LogFormatter());
         return handler;
     }
 
+    /**
+     * 新しいファイル出力ハンドラー生成.
+     *
+     * <p>
+     * Mod のプロパティ {@code log.file=true} の場合に、メモリーマップしたセグメントファイルへ書き込むハンドラーを生成します。
+     * </p>
+     * <ul>
+     * <li>{@code log.file.dir} 出力先のディレクトリ. 省略時は logs</li>
+     * <li>{@code log.file.segmentSize} セグメントのサイズ(バイト). 省略時は 8MiB</li>
+     * <li>{@code log.file.rollInterval} ローテーションする間隔(ミリ秒). 省略時は 1 時間</li>
+     * <li>{@code log.file.format} binary の場合は、{@link BinaryLogHandler} でバイナリ形式の 1 ファイルに書き込みます</li>
+     * <li>{@code log.file.flushInterval} binary の場合に、ファイルに書き込む間隔(ミリ秒). 省略時は 1000</li>
+     * </ul>
+     *
+     * @return ハンドラー または 無効な場合 null
+     */
+    @Nullable
+    protected Handler createNewFileHandler()
+    {
+        if (!modEnv.isModPropertyEnabled("log.file"))
+            return null;
+
+        final String dir = modEnv.getModProperty("log.file.dir");
+        final Path directory = Paths.get(Strings.isNullOrEmpty(dir) ? "logs" : dir);
+
+        if ("binary".equals(modEnv.getModProperty("log.file.format")))
+        {
+            try
+            {
+                Files.createDirectories(directory);
+                final String interval = modEnv.getModProperty("log.file.flushInterval");
+                return new BinaryLogHandler(directory.resolve(String.format("%s-%s.awlog", modId,
+                        new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()))),
+                        parseProperty("log.file.flushInterval", interval,
+                                BinaryLogHandler.DEFAULT_FLUSH_INTERVAL_MILLIS, 1, Long.MAX_VALUE));
+            }
+            catch (final IOException e)
+            {
+                SYS_ERR.println("failed to open the binary log file. (" + e + ")");
+                return null;
+            }
+        }
+
+        final String segmentSize = modEnv.getModProperty("log.file.segmentSize");
+        final String rollInterval = modEnv.getModProperty("log.file.rollInterval");
+
+        return new MappedFileHandler(directory, modId,
+                (int) parseProperty("log.file.segmentSize", segmentSize, 8 * 1024 * 1024, 1, Integer.MAX_VALUE),
+                parseProperty("log.file.rollInterval", rollInterval, TimeUnit.HOURS.toMillis(1), 1, Long.MAX_VALUE),
+                null);
+    }
+
+    /**
+     * フライトレコーダー生成.
+     *
+     * <p>
+     * Mod のプロパティ {@code log.flight=true} の場合に、出力しないレベルも含めた直近のログを保持するフライトレコーダーを生成します。
+     * 保持したログは {@link Level#SEVERE} のログを出力した時と {@link #dumpFlightRecorder()} でファイルに書き出します。
+     * </p>
+     * <ul>
+     * <li>{@code log.flight.capacity} 保持するログの数. 省略時は 4096</li>
+     * <li>{@code log.flight.dir} 書き出すディレクトリ. 省略時は logs</li>
+     * <li>{@code log.flight.dumpInterval} {@link Level#SEVERE} で書き出す最小間隔(ミリ秒). 省略時は 60000</li>
+     * </ul>
+     *
+     * @return フライトレコーダー または 無効な場合 null
+     */
+    @Nullable
+    private FlightRecorder createFlightRecorder()
+    {
+        if (!modEnv.isModPropertyEnabled("log.flight"))
+            return null;
+
+        final String capacity = modEnv.getModProperty("log.flight.capacity");
+        final String dir = modEnv.getModProperty("log.flight.dir");
+        final String interval = modEnv.getModProperty("log.flight.dumpInterval");
+
+        return new FlightRecorder((int) parseProperty("log.flight.capacity", capacity, 4096, 1, 1 << 30),
+                Paths.get(Strings.isNullOrEmpty(dir) ? "logs" : dir), modId,
+                parseProperty("log.flight.dumpInterval", interval, FlightRecorder.DEFAULT_DUMP_INTERVAL_MILLIS, 0,
+                        Long.MAX_VALUE));
+    }
+
+    /**
+     * メトリクス生成.
+     *
+     * <p>
+     * Mod のプロパティ {@code log.metrics=true} の場合に生成し、{@code log.metrics.jmx=true} の場合は MXBean として登録します。
+     * </p>
+     *
+     * @return メトリクス または 無効な場合 null
+     */
+    @Nullable
+    private LogMetrics createMetrics()
+    {
+        if (!modEnv.isModPropertyEnabled("log.metrics"))
+            return null;
+
+        final LogMetrics newMetrics = new LogMetrics(modId);
+
+        if (modEnv.isModPropertyEnabled("log.metrics.jmx"))
+            newMetrics.register();
+
+        return newMetrics;
+    }
+
     /**
      * 新しいロガー生成.
      *
@@ -148,8 +424,16 @@ public class Logger
         final java.util.logging.Logger newLogger = java.util.logging.Logger.getLogger(modId);
         newLogger.setUseParentHandlers(false);
 
+        final Handler fileHandler = createNewFileHandler();
+        if (fileHandler != null)
+            newLogger.addHandler(fileHandler);
+
         if (!Env.develop())
+        {
+            // FMLのFileHandlerのログレベルは ALL のため、INFO 以上だけを転送する
+            newLogger.addHandler(new ParentForwardingHandler(newLogger));
             return newLogger;
+        }
 
         handler = createNewConsoleHandler();
         newLogger.addHandler(handler);
@@ -160,6 +444,10 @@ public class Logger
     /**
      * ログレベル初期化.
      *
+     * <p>
+     * {@link LogLevels} に設定されたログレベルがあればそれを、無ければシステムプロパティに従ったログレベルを設定します。
+     * </p>
+     *
      * @param logger
      *            ロガー
      * @param handler
@@ -167,6 +455,13 @@ public class Logger
      */
     protected final void initLogLevel()
     {
+        final Level configured = LogLevels.getConfiguredLevel(modId);
+        if (configured != null)
+        {
+            setLevel(configured);
+            return;
+        }
+
         if (isTraceEnabled())
         {
             setLevel(Level.FINEST);
@@ -196,31 +491,95 @@ public class Logger
 
         if (handler != null)
             handler.setLevel(level);
+
+        refreshLevel();
     }
 
     /**
-     * 親ログハンドラー(FMLのログハンドラー)の有効/無効を切り替えます.
+     * 現在のログレベルを取得します.
      *
-     * <p>
-     * FMLのFileHandlerのログレベルは {@link Level#ALL} であり、全てのレベルのログが出力されています。
-     * デバッグ用やトレース用など、通常は必要とならないような詳細情報が全て出力されてしまうことを避けるため、
-     * 親ログハンドラーの使用可否を制御することで、出力されるログを制限します。
+     * @return ロガーまたは親ロガーに設定されたログレベル
+     */
+    @Nonnull
+    public final Level getLevel()
+    {
+        return getEffectiveLevel();
+    }
+
+    /**
+     * ロガーと親ロガーに設定されたログレベルから、出力するログレベルの下限値を更新します.
+     */
+    private void refreshLevel()
+    {
+        levelValue = getEffectiveLevel().intValue();
+        enabledValue = recorder != null ? Integer.MIN_VALUE : levelValue;
+    }
+
+    /**
+     * フライトレコーダーが保持しているログをファイルに書き出します.
+     *
+     * @return 書き出したファイル または フライトレコーダーが無効な場合 null
+     * @throws RuntimeException
+     *             書き込めない場合
+     */
+    @Nullable
+    public final Path dumpFlightRecorder()
+    {
+        if (recorder == null)
+            return null;
+
+        try
+        {
+            return recorder.dump();
+        }
+        catch (final IOException e)
+        {
+            warning(e, "flight recorder dump failed.");
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * @return メトリクス または {@code log.metrics} が無効な場合 null
+     */
+    @Nullable
+    public final LogMetrics getMetrics()
+    {
+        return metrics;
+    }
+
+    /**
+     * 流量制限を設定します.
      *
-     * プライベートメソッド {@link #log(Level, String, Throwable)} で {@link Level#INFO} 以上のみ
-     * 親ログハンドラーを有効化していますが、変更の度にログマネージャーのパーミッションチェックが走るため、
-     * 複数のログを纏めて出力する際に、事前に変更ができるように、このメソッドを公開しています。
+     * <p>
+     * 呼び出し箇所(メッセージフォーマットと例外のクラス)ごとに、制限を超えたログを捨てて数だけを数えます。
      * </p>
+     *
+     * @param rateLimiter
+     *            流量制限 または 制限しない場合 null
+     */
+    public final void setRateLimiter(@Nullable LogRateLimiter rateLimiter)
+    {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * 親ログハンドラー(FMLのログハンドラー)の有効/無効を切り替えます.
+     *
      * <p>
-     * 開発環境では常に専用のコンソールハンドラーを使用しているため、このメソッドは何も行いません。
+     * 以前は {@link Level#INFO} 以上のログを出力する度に親ログハンドラーを切り替えていたため、
+     * 複数のログを纏めて出力する際に事前に切り替えられるよう公開していました。
+     * 現在は {@link ParentForwardingHandler} が {@link Level#INFO} 以上のログだけを親ログハンドラーに転送するため、
+     * このメソッドは何も行いません。
      * </p>
      *
      * @param useParentHandlers
      *            親ログハンドラーを有効にする場合 true
+     * @deprecated 切り替えは不要になりました
      */
+    @Deprecated
     public final void setUseParentHandlers(boolean useParentHandlers)
     {
-        if (!Env.develop() && logger.getUseParentHandlers() != useParentHandlers)
-            logger.setUseParentHandlers(useParentHandlers);
     }
 
     /**
@@ -243,6 +602,33 @@ public class Logger
         return Env.debug() || modEnv.isDebugEnabled();
     }
 
+    /**
+     * デバッグログのログレベルを取得します.
+     *
+     * @return {@link Level#FINE}
+     */
+    protected Level getDebugLevel()
+    {
+        return Level.FINE;
+    }
+
+    /**
+     * 指定のログレベルのログを出力するか判定します.
+     *
+     * <p>
+     * 最後に設定したログレベルと比較するだけのため、ロックもロガーの探索もしません。
+     * 引数の生成にコストがかかるログは、この判定の後に出力してください。
+     * </p>
+     *
+     * @param level
+     *            ログレベル
+     * @return 出力する場合 true
+     */
+    public final boolean isLoggable(Level level)
+    {
+        return level.intValue() >= levelValue;
+    }
+
     /**
      * 指定のログレベルが INFO 未満か判定します.
      *
@@ -285,104 +671,114 @@ public class Logger
     }
 
     /**
-     * 警告ログ.
+     * エラーログ.
      *
-     * @param format
-     *            メッセージフォーマット
-     * @param args
-     *            メッセージ引数
+     * @param message
+     *            メッセージ
      */
-    public void warning(@Nonnull String format, Object... args)
+    public void severe(@Nonnull String message)
     {
-        log(Level.WARNING, format, args);
+        log(Level.SEVERE, null, message, (Object[]) null);
     }
 
     /**
-     * 警告ログ.
+     * エラーログ.
      *
-     * @param e
-     *            例外またはエラー
      * @param format
      *            メッセージフォーマット
-     * @param args
-     *            メッセージ引数
+     * @param arg1
+     *            第1引数
      */
-    public void warning(Throwable e, @Nonnull String format, Object... args)
+    public void severe(@Nonnull String format, @Nullable Object arg1)
     {
-        log(Level.WARNING, e, format, args);
+        if (accepts(Level.SEVERE, format, null))
+            post(LazyLogRecord.of(this, Level.SEVERE, format).with(arg1));
     }
 
     /**
-     * 情報ログ.
+     * エラーログ. 引数の値は出力する場合だけ取得します.
      *
      * @param format
      *            メッセージフォーマット
-     * @param args
-     *            メッセージ引数
+     * @param arg1
+     *            第1引数の値を取得する Supplier
      */
-    public void info(@Nonnull String format, Object... args)
+    public void severeLazy(@Nonnull String format, @Nullable Supplier<?> arg1)
     {
-        log(Level.INFO, format, args);
+        if (accepts(Level.SEVERE, format, null))
+            post(LazyLogRecord.of(this, Level.SEVERE, format).with(LazyArg.of(arg1)));
     }
 
     /**
-     * 情報ログ.
+     * エラーログ.
      *
-     * @param e
-     *            例外またはエラー
      * @param format
      *            メッセージフォーマット
-     * @param args
-     *            メッセージ引数
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
      */
-    public void info(Throwable e, @Nonnull String format, Object... args)
+    public void severe(@Nonnull String format, @Nullable Object arg1, @Nullable Object arg2)
     {
-        log(Level.INFO, format, args);
+        if (accepts(Level.SEVERE, format, null))
+            post(LazyLogRecord.of(this, Level.SEVERE, format).with(arg1).with(arg2));
     }
 
     /**
-     * デバッグログ用.
+     * エラーログ.
      *
      * @param format
      *            メッセージフォーマット
-     * @param args
-     *            メッセージ引数
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
      */
-    public void debug(@Nonnull String format, Object... args)
+    public void severe(@Nonnull String format, @Nullable Object arg1, @Nullable Object arg2, @Nullable Object arg3)
     {
-        log(Level.FINE, format, args);
+        if (accepts(Level.SEVERE, format, null))
+            post(LazyLogRecord.of(this, Level.SEVERE, format).with(arg1).with(arg2).with(arg3));
     }
 
     /**
-     * デバッグログ用.
+     * エラーログ.
      *
-     * @param e
-     *            例外またはエラー
      * @param format
      *            メッセージフォーマット
-     * @param args
-     *            メッセージ引数
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     * @param arg4
+     *            第4引数
      */
-    public void debug(Throwable e, @Nonnull String format, Object... args)
+    public void severe(@Nonnull String format, @Nullable Object arg1, @Nullable Object arg2, @Nullable Object arg3,
+            @Nullable Object arg4)
     {
-        log(Level.FINE, format, args);
+        if (accepts(Level.SEVERE, format, null))
+            post(LazyLogRecord.of(this, Level.SEVERE, format).with(arg1).with(arg2).with(arg3).with(arg4));
     }
 
     /**
-     * 頻度が高いログ出力用.
+     * 警告ログ.
      *
      * @param format
      *            メッセージフォーマット
      * @param args
      *            メッセージ引数
      */
-    public void trace(@Nonnull String format, Object... args)
+    public void warning(@Nonnull String format, Object... args)
     {
-        log(Level.FINEST, format, args);
+        log(Level.WARNING, format, args);
     }
 
     /**
-     * 頻度が高いログ出力用.
+     * 警告ログ.
      *
      * @param e
      *            例外またはエラー
@@ -391,98 +787,1846 @@ public class Logger
      * @param args
      *            メッセージ引数
      */
-    public void trace(Throwable e, @Nonnull String format, Object... args)
+    public void warning(Throwable e, @Nonnull String format, Object... args)
     {
-        log(Level.FINEST, format, args);
+        log(Level.WARNING, e, format, args);
     }
 
     /**
-     * ログレベルを指定してログ出力.
+     * 警告ログ.
+     *
+     * @param message
+     *            メッセージ
+     */
+    public void warning(@Nonnull String message)
+    {
+        log(Level.WARNING, null, message, (Object[]) null);
+    }
+
+    /**
+     * 警告ログ.
      *
-     * @param level
-     *            ログレベル
      * @param format
      *            メッセージフォーマット
-     * @param args
-     *            メッセージ引数
+     * @param arg1
+     *            第1引数
      */
-    public void log(Level level, @Nonnull String format, Object... args)
+    public void warning(@Nonnull String format, @Nullable Object arg1)
     {
-        log(level, null, format, args);
+        if (accepts(Level.WARNING, format, null))
+            post(LazyLogRecord.of(this, Level.WARNING, format).with(arg1));
     }
 
     /**
-     * ログレベルを指定してログ出力.
+     * 警告ログ. 引数の値は出力する場合だけ取得します.
      *
-     * @param level
-     *            ログレベル
-     * @param throwable
-     *            例外またはエラー
      * @param format
      *            メッセージフォーマット
-     * @param args
-     *            メッセージ引数
+     * @param arg1
+     *            第1引数の値を取得する Supplier
      */
-    public void log(Level level, Throwable e, @Nonnull String format, Object... args)
+    public void warningLazy(@Nonnull String format, @Nullable Supplier<?> arg1)
     {
-        checkArgNotNull(level);
-        checkArgNotNull(format);
+        if (accepts(Level.WARNING, format, null))
+            post(LazyLogRecord.of(this, Level.WARNING, format).with(LazyArg.of(arg1)));
+    }
+
+    /**
+     * 警告ログ.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void warning(@Nonnull String format, @Nullable Object arg1, @Nullable Object arg2)
+    {
+        if (accepts(Level.WARNING, format, null))
+            post(LazyLogRecord.of(this, Level.WARNING, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 警告ログ.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     */
+    public void warning(@Nonnull String format, @Nullable Object arg1, @Nullable Object arg2, @Nullable Object arg3)
+    {
+        if (accepts(Level.WARNING, format, null))
+            post(LazyLogRecord.of(this, Level.WARNING, format).with(arg1).with(arg2).with(arg3));
+    }
+
+    /**
+     * 警告ログ.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     * @param arg4
+     *            第4引数
+     */
+    public void warning(@Nonnull String format, @Nullable Object arg1, @Nullable Object arg2, @Nullable Object arg3,
+            @Nullable Object arg4)
+    {
+        if (accepts(Level.WARNING, format, null))
+            post(LazyLogRecord.of(this, Level.WARNING, format).with(arg1).with(arg2).with(arg3).with(arg4));
+    }
+
+    /**
+     * 情報ログ.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param args
+     *            メッセージ引数
+     */
+    public void info(@Nonnull String format, Object... args)
+    {
+        log(Level.INFO, format, args);
+    }
+
+    /**
+     * 情報ログ.
+     *
+     * @param e
+     *            例外またはエラー
+     * @param format
+     *            メッセージフォーマット
+     * @param args
+     *            メッセージ引数
+     */
+    public void info(Throwable e, @Nonnull String format, Object... args)
+    {
+        log(Level.INFO, format, args);
+    }
+
+    /**
+     * 情報ログ.
+     *
+     * @param message
+     *            メッセージ
+     */
+    public void info(@Nonnull String message)
+    {
+        log(Level.INFO, null, message, (Object[]) null);
+    }
+
+    /**
+     * 情報ログ.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     */
+    public void info(@Nonnull String format, @Nullable Object arg1)
+    {
+        if (accepts(Level.INFO, format, null))
+            post(LazyLogRecord.of(this, Level.INFO, format).with(arg1));
+    }
+
+    /**
+     * 情報ログ. 引数の値は出力する場合だけ取得します.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数の値を取得する Supplier
+     */
+    public void infoLazy(@Nonnull String format, @Nullable Supplier<?> arg1)
+    {
+        if (accepts(Level.INFO, format, null))
+            post(LazyLogRecord.of(this, Level.INFO, format).with(LazyArg.of(arg1)));
+    }
+
+    /**
+     * 情報ログ.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void info(@Nonnull String format, @Nullable Object arg1, @Nullable Object arg2)
+    {
+        if (accepts(Level.INFO, format, null))
+            post(LazyLogRecord.of(this, Level.INFO, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 情報ログ.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     */
+    public void info(@Nonnull String format, @Nullable Object arg1, @Nullable Object arg2, @Nullable Object arg3)
+    {
+        if (accepts(Level.INFO, format, null))
+            post(LazyLogRecord.of(this, Level.INFO, format).with(arg1).with(arg2).with(arg3));
+    }
+
+    /**
+     * 情報ログ.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     * @param arg4
+     *            第4引数
+     */
+    public void info(@Nonnull String format, @Nullable Object arg1, @Nullable Object arg2, @Nullable Object arg3,
+            @Nullable Object arg4)
+    {
+        if (accepts(Level.INFO, format, null))
+            post(LazyLogRecord.of(this, Level.INFO, format).with(arg1).with(arg2).with(arg3).with(arg4));
+    }
+
+    /**
+     * デバッグログ用.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param args
+     *            メッセージ引数
+     */
+    public void debug(@Nonnull String format, Object... args)
+    {
+        log(getDebugLevel(), format, args);
+    }
+
+    /**
+     * デバッグログ用.
+     *
+     * @param e
+     *            例外またはエラー
+     * @param format
+     *            メッセージフォーマット
+     * @param args
+     *            メッセージ引数
+     */
+    public void debug(Throwable e, @Nonnull String format, Object... args)
+    {
+        log(getDebugLevel(), format, args);
+    }
+
+    /**
+     * デバッグログ用.
+     *
+     * @param message
+     *            メッセージ
+     */
+    public void debug(@Nonnull String message)
+    {
+        log(getDebugLevel(), null, message, (Object[]) null);
+    }
+
+    /**
+     * デバッグログ用.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     */
+    public void debug(@Nonnull String format, @Nullable Object arg1)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1));
+    }
+
+    /**
+     * デバッグログ用. 引数の値は出力する場合だけ取得します.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数の値を取得する Supplier
+     */
+    public void debugLazy(@Nonnull String format, @Nullable Supplier<?> arg1)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(LazyArg.of(arg1)));
+    }
+
+    /**
+     * デバッグログ用.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, @Nullable Object arg1, @Nullable Object arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     */
+    public void debug(@Nonnull String format, @Nullable Object arg1, @Nullable Object arg2, @Nullable Object arg3)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2).with(arg3));
+    }
+
+    /**
+     * デバッグログ用.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     * @param arg4
+     *            第4引数
+     */
+    public void debug(@Nonnull String format, @Nullable Object arg1, @Nullable Object arg2, @Nullable Object arg3,
+            @Nullable Object arg4)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2).with(arg3).with(arg4));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数. byte と short も int としてフォーマットします
+     */
+    public void debug(@Nonnull String format, int arg1)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     */
+    public void debug(@Nonnull String format, long arg1)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     */
+    public void debug(@Nonnull String format, double arg1)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     */
+    public void debug(@Nonnull String format, float arg1)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     */
+    public void debug(@Nonnull String format, char arg1)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数. byte と short も int としてフォーマットします
+     */
+    public void debug(@Nonnull String format, @Nullable Object arg1, int arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, @Nullable Object arg1, long arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, @Nullable Object arg1, double arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, @Nullable Object arg1, float arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, @Nullable Object arg1, char arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数. byte と short も int としてフォーマットします
+     * @param arg2
+     *            第2引数. byte と short も int としてフォーマットします
+     */
+    public void debug(@Nonnull String format, int arg1, int arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数. byte と short も int としてフォーマットします
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, int arg1, long arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数. byte と short も int としてフォーマットします
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, int arg1, float arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数. byte と short も int としてフォーマットします
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, int arg1, double arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数. byte と short も int としてフォーマットします
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, int arg1, char arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数. byte と short も int としてフォーマットします
+     */
+    public void debug(@Nonnull String format, long arg1, int arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, long arg1, long arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, long arg1, float arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, long arg1, double arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, long arg1, char arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数. byte と short も int としてフォーマットします
+     */
+    public void debug(@Nonnull String format, float arg1, int arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, float arg1, long arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, float arg1, float arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, float arg1, double arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, float arg1, char arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数. byte と short も int としてフォーマットします
+     */
+    public void debug(@Nonnull String format, double arg1, int arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, double arg1, long arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, double arg1, float arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, double arg1, double arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, double arg1, char arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数. byte と short も int としてフォーマットします
+     */
+    public void debug(@Nonnull String format, char arg1, int arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, char arg1, long arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, char arg1, float arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, char arg1, double arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * デバッグログ用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void debug(@Nonnull String format, char arg1, char arg2)
+    {
+        final Level level = getDebugLevel();
+
+        if (accepts(level, format, null))
+            post(LazyLogRecord.of(this, level, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param args
+     *            メッセージ引数
+     */
+    public void trace(@Nonnull String format, Object... args)
+    {
+        log(Level.FINEST, format, args);
+    }
+
+    /**
+     * 頻度が高いログ出力用.
+     *
+     * @param e
+     *            例外またはエラー
+     * @param format
+     *            メッセージフォーマット
+     * @param args
+     *            メッセージ引数
+     */
+    public void trace(Throwable e, @Nonnull String format, Object... args)
+    {
+        log(Level.FINEST, format, args);
+    }
+
+    /**
+     * 頻度が高いログ出力用.
+     *
+     * @param message
+     *            メッセージ
+     */
+    public void trace(@Nonnull String message)
+    {
+        log(Level.FINEST, null, message, (Object[]) null);
+    }
+
+    /**
+     * 頻度が高いログ出力用.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     */
+    public void trace(@Nonnull String format, @Nullable Object arg1)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数の値は出力する場合だけ取得します.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数の値を取得する Supplier
+     */
+    public void traceLazy(@Nonnull String format, @Nullable Supplier<?> arg1)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(LazyArg.of(arg1)));
+    }
+
+    /**
+     * 頻度が高いログ出力用.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, @Nullable Object arg1, @Nullable Object arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     */
+    public void trace(@Nonnull String format, @Nullable Object arg1, @Nullable Object arg2, @Nullable Object arg3)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2).with(arg3));
+    }
+
+    /**
+     * 頻度が高いログ出力用.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     * @param arg4
+     *            第4引数
+     */
+    public void trace(@Nonnull String format, @Nullable Object arg1, @Nullable Object arg2, @Nullable Object arg3,
+            @Nullable Object arg4)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2).with(arg3).with(arg4));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数. byte と short も int としてフォーマットします
+     */
+    public void trace(@Nonnull String format, int arg1)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     */
+    public void trace(@Nonnull String format, long arg1)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     */
+    public void trace(@Nonnull String format, double arg1)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     */
+    public void trace(@Nonnull String format, float arg1)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     */
+    public void trace(@Nonnull String format, char arg1)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数. byte と short も int としてフォーマットします
+     */
+    public void trace(@Nonnull String format, @Nullable Object arg1, int arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, @Nullable Object arg1, long arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, @Nullable Object arg1, double arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, @Nullable Object arg1, float arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, @Nullable Object arg1, char arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数. byte と short も int としてフォーマットします
+     * @param arg2
+     *            第2引数. byte と short も int としてフォーマットします
+     */
+    public void trace(@Nonnull String format, int arg1, int arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数. byte と short も int としてフォーマットします
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, int arg1, long arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数. byte と short も int としてフォーマットします
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, int arg1, float arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数. byte と short も int としてフォーマットします
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, int arg1, double arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数. byte と short も int としてフォーマットします
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, int arg1, char arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数. byte と short も int としてフォーマットします
+     */
+    public void trace(@Nonnull String format, long arg1, int arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
 
-        if (!Env.develop() && !canLogging(level))
-            return;
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, long arg1, long arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, long arg1, float arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, long arg1, double arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, long arg1, char arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数. byte と short も int としてフォーマットします
+     */
+    public void trace(@Nonnull String format, float arg1, int arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, float arg1, long arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, float arg1, float arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, float arg1, double arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, float arg1, char arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数. byte と short も int としてフォーマットします
+     */
+    public void trace(@Nonnull String format, double arg1, int arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, double arg1, long arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, double arg1, float arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, double arg1, double arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, double arg1, char arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数. byte と short も int としてフォーマットします
+     */
+    public void trace(@Nonnull String format, char arg1, int arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, char arg1, long arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, char arg1, float arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, char arg1, double arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * 頻度が高いログ出力用. 引数をボクシングせずにフォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     */
+    public void trace(@Nonnull String format, char arg1, char arg2)
+    {
+        if (accepts(Level.FINEST, format, null))
+            post(LazyLogRecord.of(this, Level.FINEST, format).with(arg1).with(arg2));
+    }
+
+    /**
+     * ログレベルを指定してログ出力.
+     *
+     * @param level
+     *            ログレベル
+     * @param format
+     *            メッセージフォーマット
+     * @param args
+     *            メッセージ引数
+     */
+    public void log(Level level, @Nonnull String format, Object... args)
+    {
+        log(level, null, format, args);
+    }
+
+    /**
+     * ログレベルを指定してログ出力.
+     *
+     * @param level
+     *            ログレベル
+     * @param throwable
+     *            例外またはエラー
+     * @param format
+     *            メッセージフォーマット
+     * @param args
+     *            メッセージ引数
+     */
+    public void log(Level level, Throwable e, @Nonnull String format, Object... args)
+    {
+        if (accepts(checkArgNotNull(level), format, e))
+            post(new LazyLogRecord(this, level, format, args, e));
+    }
+
+    /**
+     * レコードを生成するか判定します.
+     *
+     * <p>
+     * フライトレコーダーが有効な場合は出力しないレベルのレコードも生成し、流量制限は {@link #submit(LazyLogRecord)} で判定します。
+     * </p>
+     */
+    private boolean accepts(Level level, String format, @Nullable Throwable e)
+    {
+        if (!isEnabled(level))
+            return false;
+
+        checkArgNotNull(format);
+        return recorder != null || isAcquired(level, format, e);
+    }
+
+    /**
+     * {@link #accepts(Level, String, Throwable)} で生成したレコードを出力します.
+     */
+    private void post(LazyLogRecord record)
+    {
+        if (recorder != null)
+            submit(record);
+        else
+            dispatch(record);
+    }
+
+    /**
+     * フライトレコーダーに保持し、出力するレベルで流量制限を超えていなければ出力します.
+     *
+     * <p>
+     * 出力する {@link Level#SEVERE} 以上のレコードの場合は、フライトレコーダーの内容をファイルに書き出します。
+     * </p>
+     */
+    private void submit(LazyLogRecord record)
+    {
+        final Level level = record.getLevel();
 
-        final String message = (args != null && args.length > 0) ? String.format(format, args) : format;
+        if (!isLoggable(level))
+        {
+            if (recorder != null)
+                recorder.record(record.freeze());
+            if (metrics != null)
+                metrics.filtered(level);
+            return;
+        }
 
-        if (Env.develop() || isLesserThanInfo(level) || logger.getUseParentHandlers())
+        if (!isAcquired(level, record.getFormat(), record.getThrown()))
         {
-            log(level, message, e);
+            if (recorder != null)
+                recorder.record(record.freeze());
+            return;
         }
-        else
+
+        if (recorder != null)
         {
-            logger.setUseParentHandlers(true);
-            log(level, message, e);
-            logger.setUseParentHandlers(false);
+            recorder.record(record);
+
+            if (level.intValue() >= Level.SEVERE.intValue())
+                recorder.dumpAsync();
         }
+
+        dispatch(record);
     }
 
-    private void log(Level level, String message, Throwable e)
+    /**
+     * ログを生成するか判定します. フライトレコーダーが有効な場合は、出力しないレベルのログも生成します.
+     */
+    private boolean isEnabled(Level level)
     {
-        if (e == null)
-            logger.log(level, message);
+        if (level.intValue() >= enabledValue)
+            return true;
 
-        else
-            logger.log(level, message, e);
+        if (metrics != null)
+            metrics.filtered(level);
+
+        return false;
+    }
+
+    /**
+     * 流量制限を超えていないか判定します.
+     */
+    private boolean isAcquired(Level level, String format, @Nullable Throwable e)
+    {
+        final LogRateLimiter limiter = rateLimiter;
+
+        if (limiter == null || limiter.tryAcquire(this, level, format, e))
+            return true;
+
+        if (metrics != null)
+            metrics.rateLimited();
+
+        return false;
     }
 
     /**
-     * ロギング可能なレベルか判定します.
+     * 流量制限で捨てたログの数を出力します.
      *
      * @param level
-     *            レベル
-     * @return 現在のロガーのレベルよりも高い場合 true
+     *            捨てたログのレベル
+     * @param format
+     *            捨てたログのメッセージフォーマット
+     * @param count
+     *            捨てた数
+     * @param millis
+     *            数えた期間のミリ秒数
      */
-    private boolean canLogging(Level level)
+    void logRepeated(Level level, String format, long count, long millis)
+    {
+        dispatch(new LazyLogRecord(this, level, "repeated %s times in last %ss: %s", new Object[] {
+                Long.valueOf(count), Double.valueOf(millis / 1000d), format }, null));
+    }
+
+    private void dispatch(LazyLogRecord record)
     {
-        return getLogLevel(logger).intValue() <= level.intValue();
+        if (dispatcher != null)
+            dispatcher.dispatch(record);
+        else
+            publish(record);
     }
 
     /**
-     * 親ロガーを再帰的に遡り、ログレベルを取得します.
+     * レコードをロガーに渡します. 非同期出力の場合は書き込みスレッドから呼び出されます.
      *
-     * @param logger
-     *            ロガー
-     * @return ログレベル
+     * <p>
+     * メトリクスは、非同期出力のバッファで捨てられずにここまで届き、ロガーのレベルとフィルターが受け付けたレコードだけを数えます。
+     * </p>
+     *
+     * @param record
+     *            レコード
      */
-    private static Level getLogLevel(java.util.logging.Logger logger)
+    void publish(LazyLogRecord record)
     {
-        if (logger == null)
-            return Level.INFO;
+        if (metrics != null)
+        {
+            final Filter filter = logger.getFilter();
+
+            if (!logger.isLoggable(record.getLevel()) || filter != null && !filter.isLoggable(record))
+                return;
+
+            metrics.published(record.getLevel());
+        }
+
+        logger.log(record);
+    }
 
-        final Level level = logger.getLevel();
+    /**
+     * 親ロガーを遡り、最初に設定されているログレベルを取得します.
+     *
+     * @return ログレベル. どのロガーにも設定されていない場合は {@link Level#INFO}
+     */
+    @Nonnull
+    private Level getEffectiveLevel()
+    {
+        for (java.util.logging.Logger l = logger; l != null; l = l.getParent())
+        {
+            final Level level = l.getLevel();
 
-        if (level == null)
-            return getLogLevel(logger.getParent());
+            if (level != null)
+                return level;
+        }
 
-        return level;
+        return Level.INFO;
     }
 }
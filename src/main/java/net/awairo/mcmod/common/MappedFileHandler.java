@@ -0,0 +1,354 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static com.google.common.base.Preconditions.*;
+import static net.awairo.mcmod.common.PreconditionUtils.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.Nullable;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * メモリーマップしたセグメントファイルに書き込み、サイズまたは時間でローテーションするログハンドラー.
+ *
+ * <p>
+ * セグメントは生成時に指定サイズで確保してマップし、レコードは {@link LogFormatter} でフォーマットして UTF-8 で直接書き込みます。
+ * 1 行ごとの write システムコールは発生しません。
+ * 次のレコードが収まらない場合、またはローテーション間隔を過ぎた場合は、書き込んだ位置で切り詰めて次のセグメントに切り替え、
+ * 古いセグメントはバックグラウンドのスレッドで gzip 圧縮します。
+ * 新しいセグメントにも収まらないレコードは、途中まで書かずに捨てて {@link ErrorManager} に報告します。
+ * </p>
+ * <p>
+ * マップの解除は、JVM が対応していれば即座に行い、対応していなければ GC に任せます。
+ * </p>
+ *
+ * @author alalwww
+ */
+final class MappedFileHandler extends Handler
+{
+    private static final Logger LOG = CommonLogger.getLogger();
+
+    private static final int MAX_RETAINED_CHARS = 8192;
+
+    private final Path directory;
+    private final String baseName;
+    private final int segmentSize;
+    private final long rollIntervalMillis;
+    private final Executor compressor;
+
+    private final LogFormatter.Buffer buffer = new LogFormatter.Buffer();
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private char[] chars;
+    private CharBuffer charBuffer;
+
+    @Nullable
+    private MappedByteBuffer segment;
+    @Nullable
+    private Path segmentPath;
+    private long segmentDeadline;
+    private int sequence;
+    private boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param directory
+     *            セグメントを作成するディレクトリ
+     * @param baseName
+     *            セグメントのファイル名の接頭辞
+     * @param segmentSize
+     *            セグメントのサイズ(バイト)
+     * @param rollIntervalMillis
+     *            ローテーションする間隔(ミリ秒)
+     * @param compressor
+     *            古いセグメントを圧縮する Executor. null の場合は共有のデーモンスレッド
+     */
+    MappedFileHandler(Path directory, String baseName, int segmentSize, long rollIntervalMillis,
+            @Nullable Executor compressor)
+    {
+        checkArgument(segmentSize > 0, "segmentSize must be positive. : %s", segmentSize);
+        checkArgument(rollIntervalMillis > 0, "rollIntervalMillis must be positive. : %s", rollIntervalMillis);
+
+        this.directory = checkArgNotNull(directory);
+        this.baseName = checkArgNotNull(baseName);
+        this.segmentSize = segmentSize;
+        this.rollIntervalMillis = rollIntervalMillis;
+        this.compressor = compressor != null ? compressor : Compressor.EXECUTOR;
+
+        setFormatter(new LogFormatter());
+        setLevel(Level.ALL);
+        allocateChars(256);
+    }
+
+    /**
+     * 古いセグメントを圧縮するスレッド. 全てのハンドラーで共有します.
+     */
+    private static final class Compressor
+    {
+        private static final Executor EXECUTOR = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("AwA log compressor").build());
+    }
+
+    @Override
+    public synchronized void publish(LogRecord record)
+    {
+        if (closed || !isLoggable(record))
+            return;
+
+        try
+        {
+            final long now = System.currentTimeMillis();
+
+            if (segment == null || now >= segmentDeadline)
+                roll(now);
+
+            final LogMetrics metrics = LogMetrics.of(record);
+            final long formatStart = metrics != null ? System.nanoTime() : 0L;
+
+            final StringBuilder message = buffer.format(record);
+            copy(message);
+            buffer.trim();
+
+            final long formatted = metrics != null ? System.nanoTime() : 0L;
+            if (metrics != null)
+                metrics.formatted(formatted - formatStart);
+
+            final int start = segment.position();
+            if (!encode())
+            {
+                // 収まらなかった分は捨て、新しいセグメントの先頭から書き直す
+                segment.position(start);
+
+                if (start > 0)
+                    roll(now);
+
+                if (start == 0 || !encode())
+                {
+                    segment.position(0);
+                    reportError("the log record exceeds the segment size. (segmentSize=" + segmentSize + ")", null,
+                            ErrorManager.WRITE_FAILURE);
+                    return;
+                }
+            }
+
+            if (metrics != null)
+                metrics.written(System.nanoTime() - formatted);
+        }
+        catch (final Exception e)
+        {
+            reportError(null, e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    @Override
+    public synchronized void flush()
+    {
+        if (segment != null)
+            segment.force();
+    }
+
+    @Override
+    public synchronized void close()
+    {
+        closed = true;
+
+        try
+        {
+            finish(false);
+        }
+        catch (final IOException e)
+        {
+            reportError(null, e, ErrorManager.CLOSE_FAILURE);
+        }
+    }
+
+    /**
+     * @return 現在のセグメントのパス または まだ作成していない場合 null
+     */
+    @Nullable
+    synchronized Path currentSegment()
+    {
+        return segmentPath;
+    }
+
+    /**
+     * 現在のセグメントを終了し、新しいセグメントをマップします.
+     */
+    private void roll(long now) throws IOException
+    {
+        finish(true);
+
+        Files.createDirectories(directory);
+        final String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date(now));
+        final Path path = directory.resolve(String.format("%s-%s-%04d.log", baseName, stamp, sequence++));
+
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw"))
+        {
+            file.setLength(segmentSize);
+            segment = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+
+        segmentPath = path;
+        segmentDeadline = rollIntervalMillis < Long.MAX_VALUE - now ? now + rollIntervalMillis : Long.MAX_VALUE;
+    }
+
+    /**
+     * 現在のセグメントを書き込んだ位置で切り詰めます.
+     *
+     * @param compress
+     *            true の場合、切り詰めたセグメントを圧縮します
+     */
+    private void finish(boolean compress) throws IOException
+    {
+        final MappedByteBuffer finished = segment;
+        final Path path = segmentPath;
+
+        if (finished == null)
+            return;
+
+        segment = null;
+        segmentPath = null;
+
+        final int length = finished.position();
+        finished.force();
+        unmap(finished);
+
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw"))
+        {
+            file.setLength(length);
+        }
+
+        if (compress)
+            compressor.execute(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    compress(path);
+                }
+            });
+    }
+
+    /**
+     * 文字列をセグメントにエンコードします.
+     *
+     * @return セグメントに収まった場合 true
+     */
+    private boolean encode()
+    {
+        charBuffer.rewind();
+        encoder.reset();
+
+        final CoderResult result = encoder.encode(charBuffer, segment, true);
+        if (result.isOverflow())
+            return false;
+
+        return !encoder.flush(segment).isOverflow();
+    }
+
+    private void copy(StringBuilder message)
+    {
+        final int length = message.length();
+
+        if (chars.length < length || chars.length > MAX_RETAINED_CHARS)
+            allocateChars(Math.max(length, 256));
+
+        message.getChars(0, length, chars, 0);
+        charBuffer.clear();
+        charBuffer.limit(length);
+    }
+
+    private void allocateChars(int size)
+    {
+        chars = new char[size];
+        charBuffer = CharBuffer.wrap(chars);
+    }
+
+    /**
+     * セグメントを gzip 圧縮し、元のファイルを削除します.
+     */
+    private static void compress(Path path)
+    {
+        final Path gz = path.resolveSibling(path.getFileName() + ".gz");
+
+        try (InputStream in = Files.newInputStream(path);
+                OutputStream out = new GZIPOutputStream(Files.newOutputStream(gz)))
+        {
+            final byte[] buf = new byte[8192];
+            for (int read = in.read(buf); read >= 0; read = in.read(buf))
+                out.write(buf, 0, read);
+        }
+        catch (final IOException e)
+        {
+            LOG.warning(e, "failed to compress the log segment. (path=%s)", path);
+            return;
+        }
+
+        try
+        {
+            Files.delete(path);
+        }
+        catch (final IOException e)
+        {
+            LOG.warning(e, "failed to delete the compressed log segment. (path=%s)", path);
+        }
+    }
+
+    /**
+     * マップを即座に解除します. 解除できない JVM では GC に任せます.
+     */
+    private static void unmap(MappedByteBuffer buffer)
+    {
+        try
+        {
+            final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            final Object cleaner = cleanerMethod.invoke(buffer);
+
+            if (cleaner != null)
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+        }
+        catch (final Exception | LinkageError ignore)
+        {
+            // ハンドラーの中からログを出力すると再入するため、黙って GC に任せる
+        }
+    }
+}
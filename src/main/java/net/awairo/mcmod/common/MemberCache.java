@@ -0,0 +1,348 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.common.collect.Maps;
+
+import net.awairo.mcmod.common.ReflectionHelper.Type;
+
+/**
+ * リフレクションで取得したメンバーのキャッシュ.
+ *
+ * <p>
+ * クラスごとのテーブルを {@link ClassValue} で保持するため、対象のクラスがアンロードされるとキャッシュも一緒に破棄されます。
+ * </p>
+ * <p>
+ * インデックスによる取得用に、宣言済みのフィールドとメソッドの配列をクラスごとに一度だけ生成します。
+ * 配列はリフレクションが返す順のままにし、以降の呼び出しでは複製しません。
+ * FML の実行環境では変換前の難読化されたクラスファイルしか読めないため、クラスファイル上の宣言順で並べると
+ * 開発環境と実行環境で同じインデックスが別のメンバーを指してしまいます。
+ * </p>
+ * <p>
+ * 同時に、オーバーロードされたメソッドをシグネチャから引くための索引も生成します。索引は次のキーでメソッドを引けます。
+ * </p>
+ * <ul>
+ * <li>名前 + メソッド記述子 ({@code "tick(I)V"})</li>
+ * <li>名前 + 引数の記述子 ({@code "tick(I)"}). 戻り値だけが異なる場合はブリッジではないメソッド</li>
+ * <li>名前だけ ({@code "tick"}). 引数の無いメソッド、無ければその名前のメソッドが一つだけの場合のそのメソッド</li>
+ * </ul>
+ *
+ * @author alalwww
+ */
+final class MemberCache
+{
+    private final ClassValue<Table> tables = new ClassValue<Table>()
+    {
+        @Override
+        protected Table computeValue(Class<?> type)
+        {
+            return new Table(type);
+        }
+    };
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * キャッシュ済みのメンバーを取得します.
+     *
+     * @param type
+     *            取得方法
+     * @param clazz
+     *            対象クラス
+     * @param key
+     *            インデックスまたは名前
+     * @return キャッシュ済みのメンバー または null
+     */
+    @Nullable
+    Object get(Type type, Class<?> clazz, Object key)
+    {
+        final Object member = tables.get(clazz).get(type).get(key);
+
+        if (member != null)
+            hitCount.incrementAndGet();
+        else
+            missCount.incrementAndGet();
+
+        return member;
+    }
+
+    /**
+     * メンバーをキャッシュします.
+     *
+     * @param type
+     *            取得方法
+     * @param clazz
+     *            対象クラス
+     * @param key
+     *            インデックスまたは名前
+     * @param member
+     *            アクセス可能にしたメンバー
+     * @return 既に他のスレッドがキャッシュしていた場合はそのメンバー、そうでなければ引数のメンバー
+     */
+    @Nonnull
+    Object putIfAbsent(Type type, Class<?> clazz, Object key, Object member)
+    {
+        final Object old = tables.get(clazz).get(type).putIfAbsent(key, member);
+        return old != null ? old : member;
+    }
+
+    /**
+     * インデックスからフィールドを取得します.
+     *
+     * @param clazz
+     *            対象クラス
+     * @param index
+     *            リフレクションが返す順のインデックス
+     * @return アクセス可能にしたフィールド
+     * @throws IndexOutOfBoundsException
+     *             インデックスが範囲外の場合
+     */
+    @Nonnull
+    Field field(Class<?> clazz, int index) throws IndexOutOfBoundsException
+    {
+        return tables.get(clazz).count().fields()[index];
+    }
+
+    /**
+     * インデックスからメソッドを取得します.
+     *
+     * @param clazz
+     *            対象クラス
+     * @param index
+     *            リフレクションが返す順のインデックス
+     * @return アクセス可能にしたメソッド
+     * @throws IndexOutOfBoundsException
+     *             インデックスが範囲外の場合
+     */
+    @Nonnull
+    Method method(Class<?> clazz, int index) throws IndexOutOfBoundsException
+    {
+        return tables.get(clazz).count().methods()[index];
+    }
+
+    /**
+     * シグネチャの索引からメソッドを取得します.
+     *
+     * @param clazz
+     *            対象クラス
+     * @param signature
+     *            {@link #signature(String, Class[])} などで生成したキー
+     * @return アクセス可能にしたメソッド または 存在しない場合 null
+     */
+    @Nullable
+    Method method(Class<?> clazz, String signature)
+    {
+        return tables.get(clazz).count().signatures().get(signature);
+    }
+
+    /**
+     * 名前だけのキーで、シグネチャの索引からメソッドを取得します.
+     *
+     * <p>
+     * {@link #get(Type, Class, Object)} がミスした後に使用するため、ヒットもミスも数えません。
+     * </p>
+     *
+     * @param clazz
+     *            対象クラス
+     * @param name
+     *            メソッド名
+     * @return 引数の無いメソッド、無ければその名前の唯一のメソッド または 存在しない場合 null
+     */
+    @Nullable
+    Method methodByName(Class<?> clazz, String name)
+    {
+        return tables.get(clazz).signatures().get(name);
+    }
+
+    /**
+     * 名前と引数の型から、シグネチャの索引のキーを生成します.
+     *
+     * @param name
+     *            メソッド名
+     * @param parameterTypes
+     *            引数の型
+     * @return 名前 + 引数の記述子
+     */
+    @Nonnull
+    static String signature(String name, Class<?>... parameterTypes)
+    {
+        final StringBuilder sb = new StringBuilder(name.length() + 2 + parameterTypes.length * 8);
+        sb.append(name).append('(');
+
+        for (final Class<?> parameterType : parameterTypes)
+            sb.append(org.objectweb.asm.Type.getDescriptor(parameterType));
+
+        return sb.append(')').toString();
+    }
+
+    /**
+     * @return キャッシュヒット数
+     */
+    long hitCount()
+    {
+        return hitCount.get();
+    }
+
+    /**
+     * @return キャッシュミス数
+     */
+    long missCount()
+    {
+        return missCount.get();
+    }
+
+    /**
+     * クラスごとのテーブル. 生成後は取得方法ごとのマップを変更しないため、EnumMap のまま共有できます.
+     */
+    private final class Table
+    {
+        private final Class<?> clazz;
+        private final EnumMap<Type, ConcurrentMap<Object, Object>> maps = new EnumMap<>(Type.class);
+
+        private volatile Field[] fields;
+        private volatile Method[] methods;
+        private volatile Map<String, Method> signatures;
+
+        private Table(Class<?> clazz)
+        {
+            this.clazz = clazz;
+
+            for (final Type type : Type.values())
+                maps.put(type, Maps.<Object, Object> newConcurrentMap());
+        }
+
+        private ConcurrentMap<Object, Object> get(Type type)
+        {
+            return maps.get(type);
+        }
+
+        /**
+         * メンバーの配列と索引を生成済みかで、キャッシュのヒットまたはミスを数えます.
+         */
+        private Table count()
+        {
+            if (signatures != null)
+                hitCount.incrementAndGet();
+            else
+                missCount.incrementAndGet();
+
+            return this;
+        }
+
+        private Field[] fields()
+        {
+            final Field[] f = fields;
+            if (f != null)
+                return f;
+
+            synchronized (this)
+            {
+                if (fields == null)
+                    buildMemberTables();
+
+                return fields;
+            }
+        }
+
+        private Method[] methods()
+        {
+            final Method[] m = methods;
+            if (m != null)
+                return m;
+
+            synchronized (this)
+            {
+                if (methods == null)
+                    buildMemberTables();
+
+                return methods;
+            }
+        }
+
+        private Map<String, Method> signatures()
+        {
+            final Map<String, Method> s = signatures;
+            if (s != null)
+                return s;
+
+            synchronized (this)
+            {
+                if (signatures == null)
+                    buildMemberTables();
+
+                return signatures;
+            }
+        }
+
+        private void buildMemberTables()
+        {
+            final Field[] f = clazz.getDeclaredFields();
+            AccessibleObject.setAccessible(f, true);
+
+            final Method[] m = clazz.getDeclaredMethods();
+            AccessibleObject.setAccessible(m, true);
+
+            final Map<String, Method> s = signatureIndex(m);
+
+            fields = f;
+            methods = m;
+            signatures = s;
+        }
+
+        private Map<String, Method> signatureIndex(Method[] m)
+        {
+            final Map<String, Method> index = Maps.newHashMapWithExpectedSize(m.length * 3);
+            final Map<String, Integer> overloads = Maps.newHashMap();
+
+            for (final Method method : m)
+            {
+                final String name = method.getName();
+                final String params = signature(name, method.getParameterTypes());
+
+                index.put(params + org.objectweb.asm.Type.getDescriptor(method.getReturnType()), method);
+
+                final Method other = index.get(params);
+                if (other == null || other.isBridge())
+                    index.put(params, method);
+
+                final Integer count = overloads.get(name);
+                overloads.put(name, Integer.valueOf(count != null ? count.intValue() + 1 : 1));
+            }
+
+            for (final Method method : m)
+            {
+                final String name = method.getName();
+
+                if (overloads.get(name).intValue() == 1)
+                    index.put(name, method);
+                else if (method.getParameterTypes().length == 0)
+                    index.put(name, index.get(signature(name)));
+            }
+
+            return index;
+        }
+    }
+}
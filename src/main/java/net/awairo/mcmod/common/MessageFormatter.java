@@ -0,0 +1,275 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * ログメッセージのフォーマッター.
+ *
+ * <p>
+ * {@code %s}, {@code %d}, {@code %%}, {@code %n} だけを扱い、スレッドごとに使い回す StringBuilder へ引数を直接追加します。
+ * {@link String#format(String, Object...)} のような Formatter や中間の文字列を生成しないため、生成するのは結果の文字列だけです。
+ * プリミティブ型の引数はボクシングせずに追加します。
+ * </p>
+ * <p>
+ * 幅や精度の指定 ({@code %02d}, {@code %.2f} など) を含むフォーマット、または引数が足りないフォーマットは
+ * {@link String#format(String, Object...)} で処理します。{@code %d} には整数以外の値も渡せます。
+ * </p>
+ * <p>
+ * 引数の {@code toString()} からログを出力するなど、フォーマット中に呼び出された場合は使い回すバッファを使わず、新しいバッファでフォーマットします。
+ * </p>
+ *
+ * @author alalwww
+ */
+final class MessageFormatter
+{
+    /** 次のプレースホルダーが無い. */
+    private static final int END = -1;
+    /** 扱えないプレースホルダーがある. */
+    private static final int UNSUPPORTED = -2;
+
+    /** これより大きくなったバッファは使い回さずに捨てます. */
+    private static final int MAX_RETAINED_CAPACITY = 4096;
+
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    private static final ThreadLocal<Buffer> BUFFER = new ThreadLocal<Buffer>()
+    {
+        @Override
+        protected Buffer initialValue()
+        {
+            return new Buffer();
+        }
+    };
+
+    private MessageFormatter()
+    {
+    }
+
+    /**
+     * フォーマットします.
+     *
+     * @param format
+     *            メッセージフォーマット
+     * @param args
+     *            メッセージ引数
+     * @return メッセージ
+     */
+    @Nonnull
+    static String format(@Nonnull String format, @Nullable Object... args)
+    {
+        if (args == null || args.length == 0)
+            return format;
+
+        final Buffer buffer = acquire();
+        try
+        {
+            final StringBuilder sb = buffer.sb;
+            int pos = 0;
+
+            for (final Object arg : args)
+            {
+                pos = appendNext(sb, format, pos);
+
+                if (pos < 0)
+                    break;
+
+                appendObject(sb, arg);
+            }
+
+            if (pos >= 0)
+                pos = appendNext(sb, format, pos);
+
+            if (pos == END)
+                return sb.toString();
+        }
+        finally
+        {
+            release(buffer);
+        }
+
+        return String.format(format, args);
+    }
+
+    /**
+     * レコードのメッセージをフォーマットします. プリミティブ型の引数はボクシングせずに追加します.
+     *
+     * @param record
+     *            レコード
+     * @return メッセージ
+     */
+    @Nonnull
+    static String format(@Nonnull LazyLogRecord record)
+    {
+        final String format = record.getFormat();
+        final int count = record.getArgCount();
+
+        if (count == 0)
+            return format;
+
+        final Buffer buffer = acquire();
+        try
+        {
+            final StringBuilder sb = buffer.sb;
+            int pos = 0;
+
+            for (int i = 0; i < count; i++)
+            {
+                pos = appendNext(sb, format, pos);
+
+                if (pos < 0)
+                    break;
+
+                appendArg(sb, record, i);
+            }
+
+            if (pos >= 0)
+                pos = appendNext(sb, format, pos);
+
+            if (pos == END)
+                return sb.toString();
+        }
+        finally
+        {
+            release(buffer);
+        }
+
+        return String.format(format, record.getArgs());
+    }
+
+    /**
+     * スレッドのバッファを取得します. 使用中の場合は新しいバッファを返します.
+     */
+    private static Buffer acquire()
+    {
+        final Buffer buffer = BUFFER.get();
+
+        if (buffer.inUse)
+            return new Buffer();
+
+        buffer.inUse = true;
+        buffer.sb.setLength(0);
+        return buffer;
+    }
+
+    private static void release(Buffer buffer)
+    {
+        if (buffer.sb.capacity() > MAX_RETAINED_CAPACITY)
+            buffer.sb = new StringBuilder(256);
+
+        buffer.inUse = false;
+    }
+
+    /**
+     * 次のプレースホルダーの手前までを追加します.
+     *
+     * @return プレースホルダーの次の位置. 無い場合は {@link #END}、扱えない場合は {@link #UNSUPPORTED}
+     */
+    private static int appendNext(StringBuilder sb, String format, int from)
+    {
+        final int length = format.length();
+        int start = from;
+
+        for (;;)
+        {
+            final int percent = format.indexOf('%', start);
+
+            if (percent < 0 || percent + 1 >= length)
+            {
+                sb.append(format, start, length);
+                return percent < 0 ? END : UNSUPPORTED;
+            }
+
+            sb.append(format, start, percent);
+
+            switch (format.charAt(percent + 1))
+            {
+                case 's':
+                case 'd':
+                    return percent + 2;
+
+                case '%':
+                    sb.append('%');
+                    break;
+
+                case 'n':
+                    sb.append(LINE_SEPARATOR);
+                    break;
+
+                default:
+                    return UNSUPPORTED;
+            }
+
+            start = percent + 2;
+        }
+    }
+
+    /**
+     * レコードの引数を、種類に応じてボクシングせずに追加します.
+     */
+    private static StringBuilder appendArg(StringBuilder sb, LazyLogRecord record, int index)
+    {
+        final long raw = record.getRawArg(index);
+
+        switch (record.getArgKind(index))
+        {
+            case LazyLogRecord.INT:
+                return sb.append((int) raw);
+            case LazyLogRecord.LONG:
+                return sb.append(raw);
+            case LazyLogRecord.FLOAT:
+                return sb.append(Float.intBitsToFloat((int) raw));
+            case LazyLogRecord.DOUBLE:
+                return sb.append(Double.longBitsToDouble(raw));
+            case LazyLogRecord.CHAR:
+                return sb.append((char) raw);
+            default:
+                return appendObject(sb, record.getArg(index));
+        }
+    }
+
+    /**
+     * 引数を追加します. ボクシングされた数値は文字列を生成せずに追加します.
+     */
+    private static StringBuilder appendObject(StringBuilder sb, @Nullable Object arg)
+    {
+        if (arg instanceof Integer)
+            return sb.append(((Integer) arg).intValue());
+
+        if (arg instanceof Long)
+            return sb.append(((Long) arg).longValue());
+
+        if (arg instanceof Double)
+            return sb.append(((Double) arg).doubleValue());
+
+        if (arg instanceof Float)
+            return sb.append(((Float) arg).floatValue());
+
+        if (arg instanceof Boolean)
+            return sb.append(((Boolean) arg).booleanValue());
+
+        return sb.append(arg);
+    }
+
+    /**
+     * スレッドごとに使い回すバッファ.
+     */
+    private static final class Buffer
+    {
+        private StringBuilder sb = new StringBuilder(256);
+        private boolean inUse;
+    }
+}
@@ -0,0 +1,906 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static net.awairo.mcmod.common.PreconditionUtils.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.common.base.Throwables;
+
+/**
+ * MethodHandle を使用したメソッドアクセサー.
+ *
+ * <p>
+ * メソッドを一度だけ MethodHandle に変換し、{@link Method#invoke(Object, Object...)} を使わずに実行します。
+ * アクセサーは使い回すことを前提としているため、static final なフィールドに保持してください。
+ * </p>
+ * <p>
+ * 引数が 4 個までのメソッドは、{@code invoke1} から {@code invoke4} を使用すると引数の配列を生成せずに実行できます。
+ * 可変長引数の {@link #invoke(Object, Object...)} と名前を分けているため、引数の配列を渡しても取り違えません。
+ * 戻り値がプリミティブ型のメソッドは {@code invokeInt} や {@code invokeInt1} から {@code invokeInt4} などを使用すると
+ * ボクシングもしません。どちらも名前の末尾の数字が引数の数で、引数が無い場合は数字を付けません。
+ * </p>
+ *
+ * @param <R>
+ *            戻り値の型
+ * @author alalwww
+ */
+public final class MethodAccessor<R>
+{
+    private static final Logger LOG = CommonLogger.getLogger();
+
+    private final Method method;
+    private final int parameterCount;
+    private final MethodHandle handle;
+    private final MethodHandle spreader;
+    /** 戻り値をプリミティブ型のままにしたハンドル. 戻り値がプリミティブ型ではない場合は null. */
+    private final MethodHandle primitiveHandle;
+
+    /**
+     * Constructor.
+     *
+     * @param method
+     *            アクセス可能にしたメソッド
+     */
+    private MethodAccessor(Method method) throws IllegalAccessException
+    {
+        this.method = method;
+
+        MethodHandle mh = MethodHandles.lookup().unreflect(method).asFixedArity();
+        if (Modifier.isStatic(method.getModifiers()))
+            mh = MethodHandles.dropArguments(mh, 0, Object.class);
+
+        parameterCount = method.getParameterTypes().length;
+        handle = mh.asType(MethodType.genericMethodType(parameterCount + 1));
+        spreader = handle.asSpreader(Object[].class, parameterCount);
+
+        final Class<?> returnType = method.getReturnType();
+        primitiveHandle = returnType.isPrimitive() && returnType != void.class
+                ? mh.asType(MethodType.genericMethodType(parameterCount + 1).changeReturnType(returnType))
+                : null;
+    }
+
+    /**
+     * メソッドアクセサーを生成します.
+     *
+     * @param method
+     *            メソッド
+     * @return メソッドアクセサー
+     */
+    @Nonnull
+    public static <R> MethodAccessor<R> of(@Nonnull Method method)
+    {
+        checkArgNotNull(method);
+        try
+        {
+            method.setAccessible(true);
+            return new MethodAccessor<>(method);
+        }
+        catch (final Exception e)
+        {
+            LOG.severe(e, "reflection failed. (method=%s)", method);
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * メソッドを実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param args
+     *            引数
+     * @return 戻り値
+     */
+    @Nullable
+    public R invoke(@Nullable Object instance, Object... args)
+    {
+        try
+        {
+            @SuppressWarnings("unchecked")
+            final R retValue = (R) spreader.invokeExact(instance, args);
+            return retValue;
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, args);
+        }
+    }
+
+    /**
+     * 引数が0個のメソッドを、配列を生成せずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @return 戻り値
+     */
+    @Nullable
+    public R invoke(@Nullable Object instance)
+    {
+        try
+        {
+            @SuppressWarnings("unchecked")
+            final R retValue = (R) fixed(0).invokeExact(instance);
+            return retValue;
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance);
+        }
+    }
+
+    /**
+     * 引数が1個のメソッドを、配列を生成せずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @return 戻り値
+     */
+    @Nullable
+    public R invoke1(@Nullable Object instance, @Nullable Object arg1)
+    {
+        try
+        {
+            @SuppressWarnings("unchecked")
+            final R retValue = (R) fixed(1).invokeExact(instance, arg1);
+            return retValue;
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1);
+        }
+    }
+
+    /**
+     * 引数が2個のメソッドを、配列を生成せずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @return 戻り値
+     */
+    @Nullable
+    public R invoke2(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2)
+    {
+        try
+        {
+            @SuppressWarnings("unchecked")
+            final R retValue = (R) fixed(2).invokeExact(instance, arg1, arg2);
+            return retValue;
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1, arg2);
+        }
+    }
+
+    /**
+     * 引数が3個のメソッドを、配列を生成せずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     * @return 戻り値
+     */
+    @Nullable
+    public R invoke3(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2, @Nullable Object arg3)
+    {
+        try
+        {
+            @SuppressWarnings("unchecked")
+            final R retValue = (R) fixed(3).invokeExact(instance, arg1, arg2, arg3);
+            return retValue;
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1, arg2, arg3);
+        }
+    }
+
+    /**
+     * 引数が4個のメソッドを、配列を生成せずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     * @param arg4
+     *            第4引数
+     * @return 戻り値
+     */
+    @Nullable
+    public R invoke4(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2, @Nullable Object arg3,
+            @Nullable Object arg4)
+    {
+        try
+        {
+            @SuppressWarnings("unchecked")
+            final R retValue = (R) fixed(4).invokeExact(instance, arg1, arg2, arg3, arg4);
+            return retValue;
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1, arg2, arg3, arg4);
+        }
+    }
+
+    /**
+     * 戻り値が int で引数が0個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @return 戻り値
+     */
+    public int invokeInt(@Nullable Object instance)
+    {
+        try
+        {
+            return (int) primitive(int.class, 0).invokeExact(instance);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance);
+        }
+    }
+
+    /**
+     * 戻り値が int で引数が1個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @return 戻り値
+     */
+    public int invokeInt1(@Nullable Object instance, @Nullable Object arg1)
+    {
+        try
+        {
+            return (int) primitive(int.class, 1).invokeExact(instance, arg1);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1);
+        }
+    }
+
+    /**
+     * 戻り値が int で引数が2個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @return 戻り値
+     */
+    public int invokeInt2(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2)
+    {
+        try
+        {
+            return (int) primitive(int.class, 2).invokeExact(instance, arg1, arg2);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1, arg2);
+        }
+    }
+
+    /**
+     * 戻り値が int で引数が3個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     * @return 戻り値
+     */
+    public int invokeInt3(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2,
+            @Nullable Object arg3)
+    {
+        try
+        {
+            return (int) primitive(int.class, 3).invokeExact(instance, arg1, arg2, arg3);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1, arg2, arg3);
+        }
+    }
+
+    /**
+     * 戻り値が int で引数が4個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     * @param arg4
+     *            第4引数
+     * @return 戻り値
+     */
+    public int invokeInt4(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2,
+            @Nullable Object arg3, @Nullable Object arg4)
+    {
+        try
+        {
+            return (int) primitive(int.class, 4).invokeExact(instance, arg1, arg2, arg3, arg4);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1, arg2, arg3, arg4);
+        }
+    }
+
+    /**
+     * 戻り値が long で引数が0個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @return 戻り値
+     */
+    public long invokeLong(@Nullable Object instance)
+    {
+        try
+        {
+            return (long) primitive(long.class, 0).invokeExact(instance);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance);
+        }
+    }
+
+    /**
+     * 戻り値が long で引数が1個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @return 戻り値
+     */
+    public long invokeLong1(@Nullable Object instance, @Nullable Object arg1)
+    {
+        try
+        {
+            return (long) primitive(long.class, 1).invokeExact(instance, arg1);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1);
+        }
+    }
+
+    /**
+     * 戻り値が long で引数が2個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @return 戻り値
+     */
+    public long invokeLong2(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2)
+    {
+        try
+        {
+            return (long) primitive(long.class, 2).invokeExact(instance, arg1, arg2);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1, arg2);
+        }
+    }
+
+    /**
+     * 戻り値が long で引数が3個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     * @return 戻り値
+     */
+    public long invokeLong3(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2,
+            @Nullable Object arg3)
+    {
+        try
+        {
+            return (long) primitive(long.class, 3).invokeExact(instance, arg1, arg2, arg3);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1, arg2, arg3);
+        }
+    }
+
+    /**
+     * 戻り値が long で引数が4個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     * @param arg4
+     *            第4引数
+     * @return 戻り値
+     */
+    public long invokeLong4(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2,
+            @Nullable Object arg3, @Nullable Object arg4)
+    {
+        try
+        {
+            return (long) primitive(long.class, 4).invokeExact(instance, arg1, arg2, arg3, arg4);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1, arg2, arg3, arg4);
+        }
+    }
+
+    /**
+     * 戻り値が float で引数が0個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @return 戻り値
+     */
+    public float invokeFloat(@Nullable Object instance)
+    {
+        try
+        {
+            return (float) primitive(float.class, 0).invokeExact(instance);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance);
+        }
+    }
+
+    /**
+     * 戻り値が float で引数が1個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @return 戻り値
+     */
+    public float invokeFloat1(@Nullable Object instance, @Nullable Object arg1)
+    {
+        try
+        {
+            return (float) primitive(float.class, 1).invokeExact(instance, arg1);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1);
+        }
+    }
+
+    /**
+     * 戻り値が float で引数が2個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @return 戻り値
+     */
+    public float invokeFloat2(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2)
+    {
+        try
+        {
+            return (float) primitive(float.class, 2).invokeExact(instance, arg1, arg2);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1, arg2);
+        }
+    }
+
+    /**
+     * 戻り値が float で引数が3個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     * @return 戻り値
+     */
+    public float invokeFloat3(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2,
+            @Nullable Object arg3)
+    {
+        try
+        {
+            return (float) primitive(float.class, 3).invokeExact(instance, arg1, arg2, arg3);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1, arg2, arg3);
+        }
+    }
+
+    /**
+     * 戻り値が float で引数が4個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     * @param arg4
+     *            第4引数
+     * @return 戻り値
+     */
+    public float invokeFloat4(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2,
+            @Nullable Object arg3, @Nullable Object arg4)
+    {
+        try
+        {
+            return (float) primitive(float.class, 4).invokeExact(instance, arg1, arg2, arg3, arg4);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1, arg2, arg3, arg4);
+        }
+    }
+
+    /**
+     * 戻り値が double で引数が0個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @return 戻り値
+     */
+    public double invokeDouble(@Nullable Object instance)
+    {
+        try
+        {
+            return (double) primitive(double.class, 0).invokeExact(instance);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance);
+        }
+    }
+
+    /**
+     * 戻り値が double で引数が1個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @return 戻り値
+     */
+    public double invokeDouble1(@Nullable Object instance, @Nullable Object arg1)
+    {
+        try
+        {
+            return (double) primitive(double.class, 1).invokeExact(instance, arg1);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1);
+        }
+    }
+
+    /**
+     * 戻り値が double で引数が2個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @return 戻り値
+     */
+    public double invokeDouble2(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2)
+    {
+        try
+        {
+            return (double) primitive(double.class, 2).invokeExact(instance, arg1, arg2);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1, arg2);
+        }
+    }
+
+    /**
+     * 戻り値が double で引数が3個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     * @return 戻り値
+     */
+    public double invokeDouble3(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2,
+            @Nullable Object arg3)
+    {
+        try
+        {
+            return (double) primitive(double.class, 3).invokeExact(instance, arg1, arg2, arg3);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1, arg2, arg3);
+        }
+    }
+
+    /**
+     * 戻り値が double で引数が4個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     * @param arg4
+     *            第4引数
+     * @return 戻り値
+     */
+    public double invokeDouble4(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2,
+            @Nullable Object arg3, @Nullable Object arg4)
+    {
+        try
+        {
+            return (double) primitive(double.class, 4).invokeExact(instance, arg1, arg2, arg3, arg4);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1, arg2, arg3, arg4);
+        }
+    }
+
+    /**
+     * 戻り値が boolean で引数が0個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @return 戻り値
+     */
+    public boolean invokeBoolean(@Nullable Object instance)
+    {
+        try
+        {
+            return (boolean) primitive(boolean.class, 0).invokeExact(instance);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance);
+        }
+    }
+
+    /**
+     * 戻り値が boolean で引数が1個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @return 戻り値
+     */
+    public boolean invokeBoolean1(@Nullable Object instance, @Nullable Object arg1)
+    {
+        try
+        {
+            return (boolean) primitive(boolean.class, 1).invokeExact(instance, arg1);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1);
+        }
+    }
+
+    /**
+     * 戻り値が boolean で引数が2個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @return 戻り値
+     */
+    public boolean invokeBoolean2(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2)
+    {
+        try
+        {
+            return (boolean) primitive(boolean.class, 2).invokeExact(instance, arg1, arg2);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1, arg2);
+        }
+    }
+
+    /**
+     * 戻り値が boolean で引数が3個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     * @return 戻り値
+     */
+    public boolean invokeBoolean3(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2,
+            @Nullable Object arg3)
+    {
+        try
+        {
+            return (boolean) primitive(boolean.class, 3).invokeExact(instance, arg1, arg2, arg3);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1, arg2, arg3);
+        }
+    }
+
+    /**
+     * 戻り値が boolean で引数が4個のメソッドを、ボクシングせずに実行します.
+     *
+     * @param instance
+     *            クラスインスタンス または static メソッドの場合は null
+     * @param arg1
+     *            第1引数
+     * @param arg2
+     *            第2引数
+     * @param arg3
+     *            第3引数
+     * @param arg4
+     *            第4引数
+     * @return 戻り値
+     */
+    public boolean invokeBoolean4(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2,
+            @Nullable Object arg3, @Nullable Object arg4)
+    {
+        try
+        {
+            return (boolean) primitive(boolean.class, 4).invokeExact(instance, arg1, arg2, arg3, arg4);
+        }
+        catch (final Throwable e)
+        {
+            throw failed(e, instance, arg1, arg2, arg3, arg4);
+        }
+    }
+
+    /**
+     * 引数の数が一致する場合に、引数と戻り値を全て Object にしたハンドルを返します.
+     */
+    private MethodHandle fixed(int arity)
+    {
+        if (arity != parameterCount)
+            throw new IllegalArgumentException("wrong number of arguments. (method=" + method + ", count=" + arity
+                    + ")");
+
+        return handle;
+    }
+
+    /**
+     * 戻り値の型と引数の数が一致する場合に、戻り値をプリミティブ型のままにしたハンドルを返します.
+     */
+    private MethodHandle primitive(Class<?> returnType, int arity)
+    {
+        if (method.getReturnType() != returnType)
+            throw new IllegalArgumentException("return type mismatch. (method=" + method + ", type=" + returnType
+                    + ")");
+
+        fixed(arity);
+        return primitiveHandle;
+    }
+
+    private RuntimeException failed(Throwable e, @Nullable Object instance, @Nullable Object... args)
+    {
+        final String f = "reflection failed. (class=%s, method=%s, instance=%s, args=%s)";
+        final Object argsValue = LazyArg.arrayToString(args);
+        LOG.severe(e, f, method.getDeclaringClass().getName(), method.getName(), instance, argsValue);
+
+        return Throwables.propagate(e);
+    }
+
+    /**
+     * メソッドを実行する MethodHandle を取得します.
+     *
+     * @return 第一引数にインスタンスを取り、引数と戻り値を全て Object にしたハンドル
+     */
+    @Nonnull
+    public MethodHandle getHandle()
+    {
+        return handle;
+    }
+
+    /**
+     * 対象のメソッドを取得します.
+     *
+     * @return メソッド
+     */
+    @Nonnull
+    public Method getMethod()
+    {
+        return method;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "MethodAccessor(" + method + ")";
+    }
+}
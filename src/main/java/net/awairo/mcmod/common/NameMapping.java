@@ -0,0 +1,667 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static com.google.common.base.Preconditions.*;
+import static net.awairo.mcmod.common.PreconditionUtils.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * 開発環境用の名前と実行環境用(SRG)の名前の対応表.
+ *
+ * <p>
+ * mod ごとに preinit で一度だけ登録し、以降は現在の環境用の名前を対応表から引くだけにします。
+ * {@link ReflectionHelper#getField(Class, String, String)} のように呼び出しの度に両方の名前を渡す必要がなくなります。
+ * </p>
+ * <p>
+ * 対応表はビルダーで生成するか、次の形式のファイルから読み込みます。F はフィールド、M はメソッドです。
+ * 最後の列は省略可能で、フィールドの型またはメソッドの戻り値の型を {@link Class#getName()} の形式で指定します。
+ * オーバーロードされたメソッドは、SRG 名の後ろに引数の記述子 (例: {@code (DDD)}) の列を追加して区別します。
+ * </p>
+ *
+ * <pre>
+ * # コメント
+ * F net.minecraft.client.Minecraft timer field_71428_T net.minecraft.util.Timer
+ * M net.minecraft.client.Minecraft getMinecraft func_71410_x
+ * M net.minecraft.entity.Entity moveEntity func_70091_d (DDD) void
+ * </pre>
+ * <p>
+ * 登録した対応表は {@link CommonLogic#handlePreInitializeEvent(IAwAMod, cpw.mods.fml.common.event.FMLPreInitializationEvent)}
+ * で全て解決して検証し、キャッシュに載せます。そのため対応表はその呼び出しより前に登録してください。
+ * </p>
+ *
+ * @author alalwww
+ */
+public final class NameMapping
+{
+    private static final Logger LOG = CommonLogger.getLogger();
+
+    private static final ConcurrentMap<String, NameMapping> REGISTERED = Maps.newConcurrentMap();
+
+    private static final Splitter SPLITTER = Splitter.on(' ').trimResults().omitEmptyStrings();
+
+    /**
+     * 対応表の種類.
+     */
+    static enum Kind
+    {
+        FIELD("F"), METHOD("M");
+
+        final String symbol;
+
+        private Kind(String symbol)
+        {
+            this.symbol = symbol;
+        }
+
+        @Nullable
+        static Kind of(String symbol)
+        {
+            for (final Kind kind : values())
+                if (kind.symbol.equals(symbol))
+                    return kind;
+
+            return null;
+        }
+    }
+
+    /**
+     * 対応表の要素.
+     */
+    static final class Entry
+    {
+        final Kind kind;
+        final String ownerName;
+        final String devName;
+        final String srgName;
+        /** メソッドの引数の記述子 (例: {@code (ILjava/lang/String;)}). 名前だけで区別する場合は null. */
+        @Nullable
+        final String parameters;
+        /** フィールドの型またはメソッドの戻り値の型の名前. 検証しない場合は null. */
+        @Nullable
+        final String typeName;
+
+        private Entry(Kind kind, String ownerName, String devName, String srgName, @Nullable String parameters,
+                @Nullable String typeName)
+        {
+            this.kind = kind;
+            this.ownerName = checkArgNotNull(ownerName);
+            this.devName = checkArgNotNull(devName);
+            this.srgName = checkArgNotNull(srgName);
+            this.parameters = parameters;
+            this.typeName = typeName;
+        }
+
+        /**
+         * @return 対応表のキー. 開発環境用の名前 または 引数の記述子がある場合は名前 + 引数の記述子
+         */
+        String key()
+        {
+            return parameters != null ? devName + parameters : devName;
+        }
+
+        /**
+         * @return 現在の環境用の名前
+         */
+        String runtimeName()
+        {
+            return Env.develop() ? devName : srgName;
+        }
+
+        /**
+         * メンバーを解決して検証します. 解決したメンバーはキャッシュに載ります.
+         *
+         * @return 失敗した理由 または 成功した場合 null
+         */
+        @Nullable
+        String validate()
+        {
+            try
+            {
+                final Class<?> owner = Class.forName(ownerName, false, NameMapping.class.getClassLoader());
+                final Class<?> type;
+
+                if (kind == Kind.FIELD)
+                {
+                    final Field field = ReflectionHelper.lookup(ReflectionHelper.Type.FIELD_BY_NAME, owner,
+                            runtimeName());
+                    type = field.getType();
+                }
+                else if (parameters != null)
+                {
+                    type = ReflectionHelper.lookupBySignature(owner, runtimeName() + parameters).getReturnType();
+                }
+                else
+                {
+                    final Method method = ReflectionHelper.lookup(ReflectionHelper.Type.METHOD_BY_NAME, owner,
+                            runtimeName());
+                    type = method.getReturnType();
+                }
+
+                if (typeName == null || typeName.equals(type.getName()))
+                    return null;
+
+                return this + " : type mismatch. actual type is " + type.getName();
+            }
+            catch (final Exception e)
+            {
+                return this + " : " + e;
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            final String s = kind.symbol + " " + ownerName + " " + devName + " " + srgName
+                    + (parameters != null ? " " + parameters : "");
+            return typeName != null ? s + " " + typeName : s;
+        }
+    }
+
+    private final String modId;
+    private final ImmutableList<Entry> entries;
+    private final ImmutableMap<String, ImmutableMap<String, String>> fieldNames;
+    private final ImmutableMap<String, ImmutableMap<String, String>> methodNames;
+
+    private NameMapping(String modId, ImmutableList<Entry> entries)
+    {
+        this.modId = modId;
+        this.entries = entries;
+        fieldNames = toTable(modId, entries, Kind.FIELD);
+        methodNames = toTable(modId, entries, Kind.METHOD);
+    }
+
+    /**
+     * クラス名ごとの、{@link Entry#key()} から現在の環境用の名前への対応表を生成します.
+     *
+     * <p>
+     * 同じクラスの同じキーが重複している場合、後の要素で黙って上書きせずに例外とします。
+     * </p>
+     */
+    private static ImmutableMap<String, ImmutableMap<String, String>> toTable(String modId, List<Entry> entries,
+            Kind kind)
+    {
+        final Map<String, Map<String, String>> table = Maps.newHashMap();
+
+        for (final Entry entry : entries)
+        {
+            if (entry.kind != kind)
+                continue;
+
+            Map<String, String> names = table.get(entry.ownerName);
+            if (names == null)
+            {
+                names = Maps.newHashMap();
+                table.put(entry.ownerName, names);
+            }
+
+            final String key = entry.key();
+            checkArgument(!names.containsKey(key), "duplicate mapping. (modid=%s, entry=%s)", modId, entry);
+            names.put(key, entry.runtimeName());
+        }
+
+        final ImmutableMap.Builder<String, ImmutableMap<String, String>> builder = ImmutableMap.builder();
+        for (final Map.Entry<String, Map<String, String>> e : table.entrySet())
+            builder.put(e.getKey(), ImmutableMap.copyOf(e.getValue()));
+
+        return builder.build();
+    }
+
+    /**
+     * 対応表のビルダーを生成します.
+     *
+     * @param modId
+     *            mod id
+     * @return ビルダー
+     */
+    @Nonnull
+    public static Builder builder(@Nonnull String modId)
+    {
+        return new Builder(checkArgNotNull(modId));
+    }
+
+    /**
+     * 対応表をファイルから読み込み、登録します.
+     *
+     * @param modId
+     *            mod id
+     * @param in
+     *            UTF-8 の対応表ファイル. このメソッドでは閉じません
+     * @return 登録した対応表
+     * @throws IOException
+     *             読み込みに失敗した場合
+     * @throws IllegalArgumentException
+     *             書式に誤りがある場合 または 同じ名前の対応が重複している場合
+     */
+    @Nonnull
+    public static NameMapping load(@Nonnull String modId, @Nonnull InputStream in) throws IOException
+    {
+        final Builder builder = builder(modId);
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(checkArgNotNull(in),
+                StandardCharsets.UTF_8));
+
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null)
+        {
+            lineNumber++;
+            line = line.trim();
+
+            if (line.isEmpty() || line.startsWith("#"))
+                continue;
+
+            final List<String> columns = Lists.newArrayList(SPLITTER.split(line));
+            final int size = columns.size();
+            final Kind kind = size >= 4 ? Kind.of(columns.get(0)) : null;
+
+            final String parameters = kind == Kind.METHOD && size > 4 && columns.get(4).startsWith("(")
+                    ? columns.get(4) : null;
+            final int typeColumn = parameters != null ? 5 : 4;
+            checkArgument(kind != null && size <= typeColumn + 1
+                    && (parameters == null || parameters.endsWith(")")),
+                    "illegal mapping. (modid=%s, line=%s: %s)", modId, lineNumber, line);
+
+            final String typeName = size > typeColumn ? columns.get(typeColumn) : null;
+            builder.add(new Entry(kind, columns.get(1), columns.get(2), columns.get(3), parameters, typeName));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * 登録済みの対応表を取得します.
+     *
+     * @param modId
+     *            mod id
+     * @return 対応表 または 登録されていない場合 null
+     */
+    @Nullable
+    public static NameMapping forMod(@Nonnull String modId)
+    {
+        return REGISTERED.get(checkArgNotNull(modId));
+    }
+
+    /**
+     * 現在の環境用のフィールド名を取得します.
+     *
+     * @param owner
+     *            フィールドを宣言しているクラス
+     * @param devName
+     *            開発環境用の名前
+     * @return 現在の環境用の名前
+     * @throws IllegalArgumentException
+     *             対応表に登録されていない場合
+     */
+    @Nonnull
+    public String fieldName(@Nonnull Class<?> owner, @Nonnull String devName)
+    {
+        return resolve(fieldNames, owner, devName);
+    }
+
+    /**
+     * 現在の環境用のメソッド名を取得します.
+     *
+     * @param owner
+     *            メソッドを宣言しているクラス
+     * @param devName
+     *            開発環境用の名前
+     * @return 現在の環境用の名前
+     * @throws IllegalArgumentException
+     *             対応表に登録されていない場合
+     */
+    @Nonnull
+    public String methodName(@Nonnull Class<?> owner, @Nonnull String devName)
+    {
+        return resolve(methodNames, owner, devName);
+    }
+
+    /**
+     * 現在の環境用の、オーバーロードされたメソッドの名前を取得します.
+     *
+     * <p>
+     * 引数の記述子付きで登録された対応を優先し、無ければ名前だけで登録された対応を使用します。
+     * </p>
+     *
+     * @param owner
+     *            メソッドを宣言しているクラス
+     * @param devName
+     *            開発環境用の名前
+     * @param parameterTypes
+     *            引数の型
+     * @return 現在の環境用の名前
+     * @throws IllegalArgumentException
+     *             対応表に登録されていない場合
+     */
+    @Nonnull
+    public String methodName(@Nonnull Class<?> owner, @Nonnull String devName, Class<?>... parameterTypes)
+    {
+        final String key = MemberCache.signature(checkArgNotNull(devName), checkArgNotNull(parameterTypes));
+        final String name = find(methodNames, owner, key);
+        return name != null ? name : resolve(methodNames, owner, devName);
+    }
+
+    /**
+     * 対応表を使用してフィールドを取得します.
+     *
+     * @param owner
+     *            フィールドを宣言しているクラス
+     * @param devName
+     *            開発環境用の名前
+     * @return フィールド
+     */
+    @Nonnull
+    public Field getField(@Nonnull Class<?> owner, @Nonnull String devName)
+    {
+        return ReflectionHelper.getField(owner, fieldName(owner, devName));
+    }
+
+    /**
+     * 対応表を使用してメソッドを取得します.
+     *
+     * @param owner
+     *            メソッドを宣言しているクラス
+     * @param devName
+     *            開発環境用の名前
+     * @return メソッド
+     */
+    @Nonnull
+    public Method getMethod(@Nonnull Class<?> owner, @Nonnull String devName)
+    {
+        return ReflectionHelper.getMethod(owner, methodName(owner, devName));
+    }
+
+    /**
+     * 対応表を使用して、オーバーロードされたメソッドを引数の型から取得します.
+     *
+     * @param owner
+     *            メソッドを宣言しているクラス
+     * @param devName
+     *            開発環境用の名前
+     * @param parameterTypes
+     *            引数の型
+     * @return メソッド
+     */
+    @Nonnull
+    public Method getMethod(@Nonnull Class<?> owner, @Nonnull String devName, Class<?>... parameterTypes)
+    {
+        return ReflectionHelper.getMethod(owner, methodName(owner, devName, parameterTypes), parameterTypes);
+    }
+
+    /**
+     * @return mod id
+     */
+    @Nonnull
+    public String getModId()
+    {
+        return modId;
+    }
+
+    /**
+     * @return 対応表の全要素
+     */
+    ImmutableList<Entry> entries()
+    {
+        return entries;
+    }
+
+    /**
+     * 対応表の全要素を fork-join プールで並列に解決して検証します.
+     *
+     * <p>
+     * 解決したメンバーはキャッシュに載るため、最初の tick で解決のコストがかかることはなくなります。
+     * </p>
+     *
+     * @return 失敗した要素ごとのメッセージ. 全て成功した場合は空のリスト
+     */
+    @Nonnull
+    public List<String> validate()
+    {
+        final ForkJoinPool pool = new ForkJoinPool();
+        try
+        {
+            return toNonnull(pool.invoke(new Validation(entries, 0, entries.size())));
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    @Nonnull
+    private String resolve(ImmutableMap<String, ImmutableMap<String, String>> table, Class<?> owner,
+            String devName)
+    {
+        final String name = find(table, owner, devName);
+
+        if (name != null)
+            return name;
+
+        throw new IllegalArgumentException(String.format("unmapped name. (modid=%s, class=%s, name=%s)", modId,
+                owner.getName(), devName));
+    }
+
+    @Nullable
+    private static String find(ImmutableMap<String, ImmutableMap<String, String>> table, Class<?> owner, String key)
+    {
+        final ImmutableMap<String, String> names = table.get(checkArgNotNull(owner).getName());
+        return names != null ? names.get(checkArgNotNull(key)) : null;
+    }
+
+    /**
+     * 対応表のビルダー.
+     */
+    public static final class Builder
+    {
+        private final String modId;
+        private final ImmutableList.Builder<Entry> entries = ImmutableList.builder();
+
+        private Builder(String modId)
+        {
+            this.modId = modId;
+        }
+
+        /**
+         * フィールド名の対応を追加します.
+         *
+         * @param owner
+         *            フィールドを宣言しているクラス
+         * @param devName
+         *            開発環境用の名前
+         * @param srgName
+         *            実行環境用の名前
+         * @return このビルダー
+         */
+        @Nonnull
+        public Builder field(@Nonnull Class<?> owner, @Nonnull String devName, @Nonnull String srgName)
+        {
+            return add(new Entry(Kind.FIELD, checkArgNotNull(owner).getName(), devName, srgName, null, null));
+        }
+
+        /**
+         * 型を検証するフィールド名の対応を追加します.
+         *
+         * @param owner
+         *            フィールドを宣言しているクラス
+         * @param devName
+         *            開発環境用の名前
+         * @param srgName
+         *            実行環境用の名前
+         * @param type
+         *            フィールドの型
+         * @return このビルダー
+         */
+        @Nonnull
+        public Builder field(@Nonnull Class<?> owner, @Nonnull String devName, @Nonnull String srgName,
+                @Nonnull Class<?> type)
+        {
+            return add(new Entry(Kind.FIELD, checkArgNotNull(owner).getName(), devName, srgName, null,
+                    checkArgNotNull(type).getName()));
+        }
+
+        /**
+         * メソッド名の対応を追加します.
+         *
+         * @param owner
+         *            メソッドを宣言しているクラス
+         * @param devName
+         *            開発環境用の名前
+         * @param srgName
+         *            実行環境用の名前
+         * @return このビルダー
+         */
+        @Nonnull
+        public Builder method(@Nonnull Class<?> owner, @Nonnull String devName, @Nonnull String srgName)
+        {
+            return add(new Entry(Kind.METHOD, checkArgNotNull(owner).getName(), devName, srgName, null, null));
+        }
+
+        /**
+         * 戻り値の型を検証するメソッド名の対応を追加します.
+         *
+         * @param owner
+         *            メソッドを宣言しているクラス
+         * @param devName
+         *            開発環境用の名前
+         * @param srgName
+         *            実行環境用の名前
+         * @param returnType
+         *            戻り値の型
+         * @return このビルダー
+         */
+        @Nonnull
+        public Builder method(@Nonnull Class<?> owner, @Nonnull String devName, @Nonnull String srgName,
+                @Nonnull Class<?> returnType)
+        {
+            return add(new Entry(Kind.METHOD, checkArgNotNull(owner).getName(), devName, srgName, null,
+                    checkArgNotNull(returnType).getName()));
+        }
+
+        /**
+         * オーバーロードされたメソッド名の対応を、引数の型で区別して追加します.
+         *
+         * <p>
+         * 検証ではシグネチャの索引から引くため、同じ名前のメソッドが複数あっても正しく解決されます。
+         * </p>
+         *
+         * @param owner
+         *            メソッドを宣言しているクラス
+         * @param devName
+         *            開発環境用の名前
+         * @param srgName
+         *            実行環境用の名前
+         * @param returnType
+         *            戻り値の型. 検証しない場合は null
+         * @param parameterTypes
+         *            引数の型
+         * @return このビルダー
+         */
+        @Nonnull
+        public Builder method(@Nonnull Class<?> owner, @Nonnull String devName, @Nonnull String srgName,
+                @Nullable Class<?> returnType, Class<?>... parameterTypes)
+        {
+            final String parameters = MemberCache.signature("", checkArgNotNull(parameterTypes));
+            return add(new Entry(Kind.METHOD, checkArgNotNull(owner).getName(), devName, srgName, parameters,
+                    returnType != null ? returnType.getName() : null));
+        }
+
+        private Builder add(Entry entry)
+        {
+            entries.add(entry);
+            return this;
+        }
+
+        /**
+         * 対応表を生成し、mod id に紐づけて登録します. 既に登録されていた場合は置き換えます.
+         *
+         * @return 対応表
+         * @throws IllegalArgumentException
+         *             同じクラスの同じ開発環境用の名前 (と引数の型) の対応が重複している場合
+         */
+        @Nonnull
+        public NameMapping build()
+        {
+            final NameMapping mapping = new NameMapping(modId, entries.build());
+            REGISTERED.put(modId, mapping);
+            LOG.debug("name mapping registered. (modid=%s, entries=%s)", modId, mapping.entries.size());
+            return mapping;
+        }
+    }
+
+    /**
+     * 対応表の要素を分割して検証するタスク.
+     */
+    private static final class Validation extends RecursiveTask<List<String>>
+    {
+        private static final long serialVersionUID = 1L;
+        private static final int THRESHOLD = 8;
+
+        private final List<Entry> entries;
+        private final int from;
+        private final int to;
+
+        private Validation(List<Entry> entries, int from, int to)
+        {
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<String> compute()
+        {
+            if (to - from <= THRESHOLD)
+            {
+                final List<String> failures = Lists.newArrayList();
+
+                for (int i = from; i < to; i++)
+                {
+                    final String failure = entries.get(i).validate();
+                    if (failure != null)
+                        failures.add(failure);
+                }
+
+                return failures;
+            }
+
+            final int middle = (from + to) >>> 1;
+            final Validation left = new Validation(entries, from, middle);
+            left.fork();
+
+            final List<String> failures = new Validation(entries, middle, to).compute();
+            failures.addAll(0, left.join());
+            return failures;
+        }
+    }
+}
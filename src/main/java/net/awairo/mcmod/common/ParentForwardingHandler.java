@@ -0,0 +1,84 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static net.awairo.mcmod.common.PreconditionUtils.*;
+
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * {@link Level#INFO} 以上のレコードを親ロガー(FML のロガー)のハンドラーに転送するハンドラー.
+ *
+ * <p>
+ * ロガー自身は親ハンドラーを使用しない設定のままにし、このハンドラーが親ロガーを辿ってハンドラーに直接渡します。
+ * レコードごとに {@link java.util.logging.Logger#setUseParentHandlers(boolean)} を切り替える必要がないため、
+ * ログマネージャーのパーミッションチェックも、切り替えの競合によるレコードの漏れや重複も起きません。
+ * </p>
+ * <p>
+ * 親ロガーのハンドラーはフォーマットと書き込みを分けられないため、転送に費やした時間は全て書き込みの時間として
+ * {@link LogMetrics} に加算します。
+ * </p>
+ *
+ * @author alalwww
+ */
+final class ParentForwardingHandler extends Handler
+{
+    private final java.util.logging.Logger logger;
+
+    /**
+     * Constructor.
+     *
+     * @param logger
+     *            親ロガーを辿るロガー
+     */
+    ParentForwardingHandler(java.util.logging.Logger logger)
+    {
+        this.logger = checkArgNotNull(logger);
+        setLevel(Level.INFO);
+    }
+
+    @Override
+    public void publish(LogRecord record)
+    {
+        if (!isLoggable(record))
+            return;
+
+        final LogMetrics metrics = LogMetrics.of(record);
+        final long start = metrics != null ? System.nanoTime() : 0L;
+
+        for (java.util.logging.Logger parent = logger.getParent(); parent != null; parent = parent.getParent())
+        {
+            for (final Handler handler : parent.getHandlers())
+                handler.publish(record);
+
+            if (!parent.getUseParentHandlers())
+                break;
+        }
+
+        if (metrics != null)
+            metrics.written(System.nanoTime() - start);
+    }
+
+    @Override
+    public void flush()
+    {
+    }
+
+    @Override
+    public void close()
+    {
+    }
+}
@@ -18,13 +18,16 @@ import static net.awairo.mcmod.common.PreconditionUtils.*;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import com.google.common.base.Throwables;
+import com.google.common.collect.Maps;
 
 /**
  * reflection helper.
@@ -35,7 +38,12 @@ public class ReflectionHelper
 {
     private static final Logger LOG = CommonLogger.getLogger();
 
-    private static enum Type
+    private static final MemberCache MEMBER_CACHE = new MemberCache();
+
+    /** findClass の結果. クラスを保持しないよう、存在有無だけを保持します. */
+    private static final ConcurrentMap<String, Boolean> CLASS_PRESENCE = Maps.newConcurrentMap();
+
+    static enum Type
     {
         FIELD_BY_INDEX, FIELD_BY_NAME, METHOD_BY_INDEX, METHOD_BY_NAME
     }
@@ -45,6 +53,7 @@ public class ReflectionHelper
      * 
      * <p>
      * 他のModが導入済みかのチェック用。
+     * 結果は存在しなかった場合も含めてキャッシュするため、同じクラス名で何度呼び出しても例外が発生するのは初回のみです。
      * </p>
      * 
      * @param className
@@ -52,6 +61,47 @@ public class ReflectionHelper
      * @return true の場合クラスが存在する
      */
     public static boolean findClass(@Nonnull String className)
+    {
+        final Boolean cached = CLASS_PRESENCE.get(className);
+        if (cached != null)
+            return cached.booleanValue();
+
+        final boolean found = findClassInternal(className);
+        CLASS_PRESENCE.put(className, Boolean.valueOf(found));
+        return found;
+    }
+
+    /**
+     * 複数のクラスをまとめて探します.
+     * 
+     * <p>
+     * 連携する複数のModの導入チェック用。
+     * </p>
+     * 
+     * @param classNames
+     *            FQCN のコレクション
+     * @return コレクションの反復順のインデックスに対応するビットが、クラスが存在する場合に立っているビットセット
+     */
+    @Nonnull
+    public static BitSet findClasses(@Nonnull Collection<String> classNames)
+    {
+        checkArgNotNull(classNames);
+
+        final BitSet found = new BitSet(classNames.size());
+        int index = 0;
+
+        for (final String className : classNames)
+        {
+            if (findClass(toNonnull(className)))
+                found.set(index);
+
+            index++;
+        }
+
+        return found;
+    }
+
+    private static boolean findClassInternal(@Nonnull String className)
     {
         try
         {
@@ -83,7 +133,7 @@ public class ReflectionHelper
     @Nullable
     public static <T, E> T getFieldValue(Class<? extends E> clazz, E instance, @Nonnegative int fieldIndex)
     {
-        return getValue(getField(clazz, Integer.valueOf(fieldIndex)), instance);
+        return getValue(getField(clazz, fieldIndex), instance);
     }
 
     /**
@@ -136,7 +186,7 @@ public class ReflectionHelper
     public static <E> Field getField(Class<? extends E> clazz, @Nonnegative int fieldIndex)
     {
         checkArgument(fieldIndex >= 0);
-        return get(Type.FIELD_BY_INDEX, clazz, Integer.valueOf(fieldIndex));
+        return getByIndex(Type.FIELD_BY_INDEX, clazz, fieldIndex);
     }
 
     /**
@@ -184,12 +234,17 @@ public class ReflectionHelper
     public static Method getMethod(Class<?> clazz, @Nonnegative int methodIndex)
     {
         checkArgument(methodIndex >= 0);
-        return get(Type.METHOD_BY_INDEX, clazz, Integer.valueOf(methodIndex));
+        return getByIndex(Type.METHOD_BY_INDEX, clazz, methodIndex);
     }
 
     /**
      * メソッドを取得します.
      * 
+     * <p>
+     * 引数の無いメソッドがあればそれを、無ければその名前の唯一のメソッドを取得します。
+     * オーバーロードされたメソッドは {@link #getMethod(Class, String, Class...)} で取得してください。
+     * </p>
+     * 
      * @param clazz
      *            対象クラス
      * @param methodName
@@ -220,6 +275,187 @@ public class ReflectionHelper
         return getMethod(clazz, convertName(methodName, srgMethodName));
     }
 
+    /**
+     * 名前と引数の型からメソッドを取得します.
+     * 
+     * <p>
+     * クラスごとに一度だけ生成したシグネチャの索引から引くため、オーバーロードされたメソッドでも探索はしません。
+     * </p>
+     * 
+     * @param clazz
+     *            対象クラス
+     * @param methodName
+     *            メソッド名
+     * @param parameterTypes
+     *            引数の型
+     * @return method
+     */
+    @Nonnull
+    public static Method getMethod(Class<?> clazz, @Nonnull String methodName, Class<?>... parameterTypes)
+    {
+        checkArgNotNull(methodName);
+        checkArgNotNull(parameterTypes);
+        return getBySignature(clazz, MemberCache.signature(methodName, parameterTypes));
+    }
+
+    /**
+     * 名前と引数の型からメソッドを取得します.
+     * 
+     * @param clazz
+     *            対象クラス
+     * @param methodName
+     *            メソッド名
+     * @param srgMethodName
+     *            実行時難読化解除後のメソッド名
+     * @param parameterTypes
+     *            引数の型
+     * @return method
+     */
+    @Nonnull
+    public static Method getMethod(Class<?> clazz, @Nonnull String methodName, @Nonnull String srgMethodName,
+            Class<?>... parameterTypes)
+    {
+        return getMethod(clazz, convertName(methodName, srgMethodName), parameterTypes);
+    }
+
+    /**
+     * 名前とメソッド記述子からメソッドを取得します.
+     * 
+     * @param clazz
+     *            対象クラス
+     * @param methodName
+     *            メソッド名
+     * @param descriptor
+     *            メソッド記述子 (例: {@code "(ILjava/lang/String;)V"})
+     * @return method
+     */
+    @Nonnull
+    public static Method getMethodByDescriptor(Class<?> clazz, @Nonnull String methodName,
+            @Nonnull String descriptor)
+    {
+        return getBySignature(clazz, checkArgNotNull(methodName) + checkArgNotNull(descriptor));
+    }
+
+    /**
+     * MethodHandle を使用したフィールドアクセサーを取得します.
+     * 
+     * @param clazz
+     *            対象クラス
+     * @param fieldIndex
+     *            フィールドのインデックス
+     * @return フィールドアクセサー
+     */
+    @Nonnull
+    public static <T> FieldAccessor<T> getFieldAccessor(Class<?> clazz, @Nonnegative int fieldIndex)
+    {
+        return FieldAccessor.of(getField(clazz, fieldIndex));
+    }
+
+    /**
+     * MethodHandle を使用したフィールドアクセサーを取得します.
+     * 
+     * @param clazz
+     *            対象クラス
+     * @param fieldName
+     *            フィールド名
+     * @return フィールドアクセサー
+     */
+    @Nonnull
+    public static <T> FieldAccessor<T> getFieldAccessor(Class<?> clazz, @Nonnull String fieldName)
+    {
+        return FieldAccessor.of(getField(clazz, fieldName));
+    }
+
+    /**
+     * MethodHandle を使用したフィールドアクセサーを取得します.
+     * 
+     * @param clazz
+     *            対象クラス
+     * @param fieldName
+     *            フィールド名
+     * @param srgFieldName
+     *            実行時難読化解除後のフィールド名
+     * @return フィールドアクセサー
+     */
+    @Nonnull
+    public static <T> FieldAccessor<T> getFieldAccessor(Class<?> clazz, @Nonnull String fieldName,
+            @Nonnull String srgFieldName)
+    {
+        return FieldAccessor.of(getField(clazz, fieldName, srgFieldName));
+    }
+
+    /**
+     * MethodHandle を使用したメソッドアクセサーを取得します.
+     * 
+     * @param clazz
+     *            対象クラス
+     * @param methodIndex
+     *            メソッドのインデックス
+     * @return メソッドアクセサー
+     */
+    @Nonnull
+    public static <R> MethodAccessor<R> getMethodAccessor(Class<?> clazz, @Nonnegative int methodIndex)
+    {
+        return MethodAccessor.of(getMethod(clazz, methodIndex));
+    }
+
+    /**
+     * MethodHandle を使用したメソッドアクセサーを取得します.
+     * 
+     * @param clazz
+     *            対象クラス
+     * @param methodName
+     *            メソッド名
+     * @return メソッドアクセサー
+     */
+    @Nonnull
+    public static <R> MethodAccessor<R> getMethodAccessor(Class<?> clazz, @Nonnull String methodName)
+    {
+        return MethodAccessor.of(getMethod(clazz, methodName));
+    }
+
+    /**
+     * MethodHandle を使用したメソッドアクセサーを取得します.
+     * 
+     * @param clazz
+     *            対象クラス
+     * @param methodName
+     *            メソッド名
+     * @param srgMethodName
+     *            実行時難読化解除後のメソッド名
+     * @return メソッドアクセサー
+     */
+    @Nonnull
+    public static <R> MethodAccessor<R> getMethodAccessor(Class<?> clazz, @Nonnull String methodName,
+            @Nonnull String srgMethodName)
+    {
+        return MethodAccessor.of(getMethod(clazz, methodName, srgMethodName));
+    }
+
+    /**
+     * メンバーキャッシュのヒット数を取得します.
+     * 
+     * <p>
+     * tick 毎に実行される処理からのメンバー取得が、リフレクションを行っていないかの確認用。
+     * </p>
+     * 
+     * @return キャッシュヒット数
+     */
+    public static long getMemberCacheHitCount()
+    {
+        return MEMBER_CACHE.hitCount();
+    }
+
+    /**
+     * メンバーキャッシュのミス数を取得します.
+     * 
+     * @return キャッシュミス数 (実際にリフレクションでメンバーを探した回数)
+     */
+    public static long getMemberCacheMissCount()
+    {
+        return MEMBER_CACHE.missCount();
+    }
+
     /**
      * フィールドから値を取得します.
      * 
@@ -241,14 +477,266 @@ public class ReflectionHelper
         }
         catch (final Exception e)
         {
-            LOG.severe(e, "reflection failed. (field=%s, instance=%s)", field, instance);
-            throw Throwables.propagate(e);
+            throw fieldAccessFailed(e, field, instance);
+        }
+    }
+
+    /**
+     * フィールドに値を設定します.
+     * 
+     * @param field
+     *            フィールド
+     * @param instance
+     *            フィールドを持つクラスインスタンス または null
+     * @param value
+     *            設定する値
+     */
+    public static void setValue(Field field, @Nullable Object instance, @Nullable Object value)
+    {
+        checkArgNotNull(field);
+        try
+        {
+            field.set(instance, value);
+        }
+        catch (final Exception e)
+        {
+            throw fieldAccessFailed(e, field, instance);
+        }
+    }
+
+    /**
+     * int フィールドの値をボクシングせずに取得します.
+     * 
+     * @param field
+     *            フィールド
+     * @param instance
+     *            フィールドを持つクラスインスタンス または null
+     * @return フィールドの値
+     */
+    public static int getInt(Field field, @Nullable Object instance)
+    {
+        checkArgNotNull(field);
+        try
+        {
+            return field.getInt(instance);
+        }
+        catch (final Exception e)
+        {
+            throw fieldAccessFailed(e, field, instance);
+        }
+    }
+
+    /**
+     * int フィールドに値をボクシングせずに設定します.
+     * 
+     * @param field
+     *            フィールド
+     * @param instance
+     *            フィールドを持つクラスインスタンス または null
+     * @param value
+     *            設定する値
+     */
+    public static void setInt(Field field, @Nullable Object instance, int value)
+    {
+        checkArgNotNull(field);
+        try
+        {
+            field.setInt(instance, value);
+        }
+        catch (final Exception e)
+        {
+            throw fieldAccessFailed(e, field, instance);
+        }
+    }
+
+    /**
+     * long フィールドの値をボクシングせずに取得します.
+     * 
+     * @param field
+     *            フィールド
+     * @param instance
+     *            フィールドを持つクラスインスタンス または null
+     * @return フィールドの値
+     */
+    public static long getLong(Field field, @Nullable Object instance)
+    {
+        checkArgNotNull(field);
+        try
+        {
+            return field.getLong(instance);
+        }
+        catch (final Exception e)
+        {
+            throw fieldAccessFailed(e, field, instance);
+        }
+    }
+
+    /**
+     * long フィールドに値をボクシングせずに設定します.
+     * 
+     * @param field
+     *            フィールド
+     * @param instance
+     *            フィールドを持つクラスインスタンス または null
+     * @param value
+     *            設定する値
+     */
+    public static void setLong(Field field, @Nullable Object instance, long value)
+    {
+        checkArgNotNull(field);
+        try
+        {
+            field.setLong(instance, value);
+        }
+        catch (final Exception e)
+        {
+            throw fieldAccessFailed(e, field, instance);
+        }
+    }
+
+    /**
+     * float フィールドの値をボクシングせずに取得します.
+     * 
+     * @param field
+     *            フィールド
+     * @param instance
+     *            フィールドを持つクラスインスタンス または null
+     * @return フィールドの値
+     */
+    public static float getFloat(Field field, @Nullable Object instance)
+    {
+        checkArgNotNull(field);
+        try
+        {
+            return field.getFloat(instance);
+        }
+        catch (final Exception e)
+        {
+            throw fieldAccessFailed(e, field, instance);
+        }
+    }
+
+    /**
+     * float フィールドに値をボクシングせずに設定します.
+     * 
+     * @param field
+     *            フィールド
+     * @param instance
+     *            フィールドを持つクラスインスタンス または null
+     * @param value
+     *            設定する値
+     */
+    public static void setFloat(Field field, @Nullable Object instance, float value)
+    {
+        checkArgNotNull(field);
+        try
+        {
+            field.setFloat(instance, value);
+        }
+        catch (final Exception e)
+        {
+            throw fieldAccessFailed(e, field, instance);
+        }
+    }
+
+    /**
+     * double フィールドの値をボクシングせずに取得します.
+     * 
+     * @param field
+     *            フィールド
+     * @param instance
+     *            フィールドを持つクラスインスタンス または null
+     * @return フィールドの値
+     */
+    public static double getDouble(Field field, @Nullable Object instance)
+    {
+        checkArgNotNull(field);
+        try
+        {
+            return field.getDouble(instance);
+        }
+        catch (final Exception e)
+        {
+            throw fieldAccessFailed(e, field, instance);
+        }
+    }
+
+    /**
+     * double フィールドに値をボクシングせずに設定します.
+     * 
+     * @param field
+     *            フィールド
+     * @param instance
+     *            フィールドを持つクラスインスタンス または null
+     * @param value
+     *            設定する値
+     */
+    public static void setDouble(Field field, @Nullable Object instance, double value)
+    {
+        checkArgNotNull(field);
+        try
+        {
+            field.setDouble(instance, value);
+        }
+        catch (final Exception e)
+        {
+            throw fieldAccessFailed(e, field, instance);
+        }
+    }
+
+    /**
+     * boolean フィールドの値をボクシングせずに取得します.
+     * 
+     * @param field
+     *            フィールド
+     * @param instance
+     *            フィールドを持つクラスインスタンス または null
+     * @return フィールドの値
+     */
+    public static boolean getBoolean(Field field, @Nullable Object instance)
+    {
+        checkArgNotNull(field);
+        try
+        {
+            return field.getBoolean(instance);
+        }
+        catch (final Exception e)
+        {
+            throw fieldAccessFailed(e, field, instance);
+        }
+    }
+
+    /**
+     * boolean フィールドに値をボクシングせずに設定します.
+     * 
+     * @param field
+     *            フィールド
+     * @param instance
+     *            フィールドを持つクラスインスタンス または null
+     * @param value
+     *            設定する値
+     */
+    public static void setBoolean(Field field, @Nullable Object instance, boolean value)
+    {
+        checkArgNotNull(field);
+        try
+        {
+            field.setBoolean(instance, value);
+        }
+        catch (final Exception e)
+        {
+            throw fieldAccessFailed(e, field, instance);
         }
     }
 
     /**
      * メソッドを実行します.
      * 
+     * <p>
+     * 呼び出しの度に引数の配列を生成します。tick 毎に呼び出すようなメソッドは {@link MethodAccessor} の
+     * {@code invoke1} などを使用してください。
+     * </p>
+     * 
      * @param method
      *            method
      * @param instance
@@ -271,13 +759,19 @@ public class ReflectionHelper
         catch (final Exception e)
         {
             final String f = "reflection failed. (class=%s, method=%s, instance=%s, args=%s)";
-            final Object argsValue = args != null ? Arrays.toString(args) : args;
+            final Object argsValue = LazyArg.arrayToString(args);
             LOG.severe(e, f, method.getDeclaringClass().getName(), method.getName(), instance, argsValue);
 
             throw Throwables.propagate(e);
         }
     }
 
+    private static RuntimeException fieldAccessFailed(Exception e, Field field, @Nullable Object instance)
+    {
+        LOG.severe(e, "reflection failed. (field=%s, instance=%s)", field, instance);
+        return Throwables.propagate(e);
+    }
+
     @SuppressWarnings("unchecked")
     @Nonnull
     private static <T, V> T get(Type type, Class<?> clazz, V key)
@@ -285,66 +779,120 @@ public class ReflectionHelper
         checkArgNotNull(clazz);
         checkArgNotNull(key);
 
+        try
+        {
+            return lookup(type, clazz, key);
+        }
+        catch (final Exception e)
+        {
+            LOG.severe(e, "reflection failed. (class=%s, key=%s)", clazz.getName(), key);
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * ログを出力せずにメンバーを取得します. 起動時にまとめて検証する際に使用します.
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    static <T> T lookup(Type type, Class<?> clazz, Object key) throws Exception
+    {
+        final Object cached = MEMBER_CACHE.get(type, clazz, key);
+        if (cached != null)
+            return (T) cached;
+
+        return (T) MEMBER_CACHE.putIfAbsent(type, clazz, key, find(type, clazz, key));
+    }
+
+    /**
+     * ログを出力せずにシグネチャの索引からメソッドを取得します. 起動時にまとめて検証する際に使用します.
+     */
+    @Nonnull
+    static Method lookupBySignature(Class<?> clazz, String signature) throws NoSuchMethodException
+    {
+        final Method method = MEMBER_CACHE.method(clazz, signature);
+        if (method == null)
+            throw new NoSuchMethodException(clazz.getName() + "." + signature);
+
+        return method;
+    }
+
+    /**
+     * クラスごとに一度だけ生成したメンバーの配列から、インデックスでメンバーを取得します.
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private static <T> T getByIndex(Type type, Class<?> clazz, int index)
+    {
+        checkArgNotNull(clazz);
+
         try
         {
             switch (type)
             {
                 case FIELD_BY_INDEX:
-                    return (T) getPrivateValueInternalByIndex(clazz, (Integer) key);
-
-                case FIELD_BY_NAME:
-                    return (T) getPrivateValueInternalByName(clazz, (String) key);
+                    return (T) MEMBER_CACHE.field(clazz, index);
 
                 case METHOD_BY_INDEX:
-                    return (T) getPrivateMethodInternalByIndex(clazz, (Integer) key);
+                    return (T) MEMBER_CACHE.method(clazz, index);
 
-                case METHOD_BY_NAME:
-                    return (T) getPrivateMethodInternalByName(clazz, (String) key);
+                default:
+                    throw new InternalError("unexpected type. : " + type);
             }
-
-            throw new InternalError("unexpected target value. : " + key);
         }
         catch (final Exception e)
         {
-            LOG.severe(e, "reflection failed. (class=%s, key=%s)", clazz.getName(), key);
+            LOG.severe(e, "reflection failed. (class=%s, key=%s)", clazz.getName(), index);
             throw Throwables.propagate(e);
         }
     }
 
     /**
-     * インデックスからメソッド取得します.
+     * クラスごとに一度だけ生成したシグネチャの索引からメソッドを取得します.
      */
     @Nonnull
-    private static <E> Method getPrivateMethodInternalByIndex(Class<?> clazz, int index)
-            throws IndexOutOfBoundsException
+    private static Method getBySignature(Class<?> clazz, String signature)
     {
-        final Method m = clazz.getDeclaredMethods()[index];
-        m.setAccessible(true);
-        return m;
+        checkArgNotNull(clazz);
+
+        final Method method = MEMBER_CACHE.method(clazz, signature);
+        if (method != null)
+            return method;
+
+        final NoSuchMethodException e = new NoSuchMethodException(clazz.getName() + "." + signature);
+        LOG.severe(e, "reflection failed. (class=%s, key=%s)", clazz.getName(), signature);
+        throw Throwables.propagate(e);
     }
 
-    /**
-     * 名前からメソッド取得します.
-     */
     @Nonnull
-    private static <E> Method getPrivateMethodInternalByName(Class<?> clazz, String name)
-            throws NoSuchMethodException
+    private static Object find(Type type, Class<?> clazz, Object key) throws Exception
     {
-        final Method m = clazz.getDeclaredMethod(name);
-        m.setAccessible(true);
-        return m;
+        switch (type)
+        {
+            case FIELD_BY_NAME:
+                return getPrivateValueInternalByName(clazz, (String) key);
+
+            case METHOD_BY_NAME:
+                return getPrivateMethodInternalByName(clazz, (String) key);
+
+            default:
+                throw new InternalError("unexpected target value. : " + key);
+        }
     }
 
     /**
-     * インデックスからフィールド取得します.
+     * 名前からメソッド取得します. 引数の無いメソッドを優先し、無ければその名前の唯一のメソッドを取得します.
      */
     @Nonnull
-    private static <E> Field getPrivateValueInternalByIndex(Class<?> clazz, int index)
-            throws IllegalAccessException
+    private static <E> Method getPrivateMethodInternalByName(Class<?> clazz, String name)
+            throws NoSuchMethodException
     {
-        final Field f = clazz.getDeclaredFields()[index];
-        f.setAccessible(true);
-        return f;
+        final Method m = MEMBER_CACHE.methodByName(clazz, name);
+
+        if (m == null)
+            throw new NoSuchMethodException(clazz.getName() + "." + name);
+
+        return m;
     }
 
     /**
@@ -0,0 +1,107 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * スレッドごとに分散して加算するカウンターの組.
+ *
+ * <p>
+ * Java 7 には LongAdder が無いため、スレッド ID から選んだストライプのセルに加算し、読み取り時に全てのストライプを合計します。
+ * 一つのストライプには全てのカウンターを並べ、ストライプの間はキャッシュラインが重ならないように空けます。
+ * </p>
+ *
+ * @author alalwww
+ */
+final class StripedCounter
+{
+    /** ストライプの間隔の最小値(long の数). 128 バイト. */
+    private static final int MIN_STRIDE = 16;
+    private static final int MAX_STRIPES = 64;
+
+    private final AtomicLongArray cells;
+    private final int counters;
+    private final int stride;
+    private final int mask;
+
+    /**
+     * Constructor.
+     *
+     * @param counters
+     *            カウンターの数
+     */
+    StripedCounter(int counters)
+    {
+        checkArgument(counters > 0, "counters must be positive. : %s", counters);
+
+        final int processors = Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES);
+        final int stripes = processors > 1 ? Integer.highestOneBit(processors - 1) << 1 : 1;
+
+        this.counters = counters;
+        stride = ((counters + MIN_STRIDE - 1) / MIN_STRIDE + 1) * MIN_STRIDE;
+        mask = stripes - 1;
+        cells = new AtomicLongArray(stripes * stride);
+    }
+
+    /**
+     * 加算します.
+     *
+     * @param counter
+     *            カウンターのインデックス
+     * @param delta
+     *            加算する値
+     */
+    void add(int counter, long delta)
+    {
+        cells.getAndAdd(stripe() * stride + counter, delta);
+    }
+
+    /**
+     * 1 加算します.
+     *
+     * @param counter
+     *            カウンターのインデックス
+     */
+    void increment(int counter)
+    {
+        add(counter, 1L);
+    }
+
+    /**
+     * 合計を取得します. 並行して加算されている場合は、その一部だけが反映されます.
+     *
+     * @param counter
+     *            カウンターのインデックス
+     * @return 合計
+     */
+    long sum(int counter)
+    {
+        checkElementIndex(counter, counters);
+
+        long sum = 0;
+        for (int i = counter; i < cells.length(); i += stride)
+            sum += cells.get(i);
+
+        return sum;
+    }
+
+    private int stripe()
+    {
+        final long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+    }
+}
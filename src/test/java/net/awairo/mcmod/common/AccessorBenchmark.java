@@ -0,0 +1,156 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+/**
+ * フィールド読み込みとメソッド呼び出しのベンチマーク.
+ * 
+ * <p>
+ * JUnit のテストではなく、main メソッドから実行します。結果は 1 回の読み込みまたは呼び出しあたりのナノ秒です。
+ * </p>
+ * 
+ * @author alalwww
+ */
+public class AccessorBenchmark
+{
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 10000000;
+
+    private static final FieldAccessor<Integer> FIELD_ACCESSOR = ReflectionHelper.getFieldAccessor(Target.class,
+            "ticks");
+    private static final Accessors.IntGetter INT_GETTER = Accessors.newAccessor(Accessors.IntGetter.class,
+            ReflectionHelper.getField(Target.class, "ticks"));
+
+    private static final java.lang.reflect.Method METHOD = ReflectionHelper.getMethod(Target.class, "ticksOf",
+            Object.class);
+    private static final MethodAccessor<Integer> METHOD_ACCESSOR = MethodAccessor.of(METHOD);
+
+    private static long sink;
+
+    public static void main(String[] args)
+    {
+        final Target target = new Target();
+
+        for (int i = 0; i < WARMUP; i++)
+        {
+            getFieldValue(target);
+            fieldAccessor(target);
+            intGetter(target);
+            direct(target);
+            reflectionInvoke(target);
+            accessorInvokeVarargs(target);
+            accessorInvokeInt(target);
+        }
+
+        report("ReflectionHelper.getFieldValue", getFieldValue(target));
+        report("FieldAccessor.get", fieldAccessor(target));
+        report("Accessors.IntGetter", intGetter(target));
+        report("direct", direct(target));
+        report("ReflectionHelper.invoke", reflectionInvoke(target));
+        report("MethodAccessor.invoke(Object...)", accessorInvokeVarargs(target));
+        report("MethodAccessor.invokeInt", accessorInvokeInt(target));
+        System.out.println("(sink=" + sink + ")");
+    }
+
+    private static void report(String name, long nanos)
+    {
+        System.out.printf("%-32s %6.2f ns/op%n", name, (double) nanos / ITERATIONS);
+    }
+
+    private static long getFieldValue(Target target)
+    {
+        final long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            final Integer value = ReflectionHelper.getFieldValue(Target.class, target, "ticks");
+            sum += value.intValue();
+        }
+        sink += sum;
+        return System.nanoTime() - start;
+    }
+
+    private static long fieldAccessor(Target target)
+    {
+        final long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < ITERATIONS; i++)
+            sum += FIELD_ACCESSOR.get(target).intValue();
+        sink += sum;
+        return System.nanoTime() - start;
+    }
+
+    private static long intGetter(Target target)
+    {
+        final long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < ITERATIONS; i++)
+            sum += INT_GETTER.getInt(target);
+        sink += sum;
+        return System.nanoTime() - start;
+    }
+
+    private static long direct(Target target)
+    {
+        final long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < ITERATIONS; i++)
+            sum += target.ticks;
+        sink += sum;
+        return System.nanoTime() - start;
+    }
+
+    private static long reflectionInvoke(Target target)
+    {
+        final long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            final Integer value = ReflectionHelper.invoke(METHOD, target, target);
+            sum += value.intValue();
+        }
+        sink += sum;
+        return System.nanoTime() - start;
+    }
+
+    private static long accessorInvokeVarargs(Target target)
+    {
+        final long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < ITERATIONS; i++)
+            sum += METHOD_ACCESSOR.invoke(target, new Object[] { target }).intValue();
+        sink += sum;
+        return System.nanoTime() - start;
+    }
+
+    private static long accessorInvokeInt(Target target)
+    {
+        final long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < ITERATIONS; i++)
+            sum += METHOD_ACCESSOR.invokeInt1(target, target);
+        sink += sum;
+        return System.nanoTime() - start;
+    }
+
+    private static class Target
+    {
+        private int ticks = 20;
+
+        private int ticksOf(Object entity)
+        {
+            return entity == this ? ticks : 0;
+        }
+    }
+}
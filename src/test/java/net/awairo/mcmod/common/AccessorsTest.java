@@ -0,0 +1,93 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * AccessorsTest.
+ * 
+ * @author alalwww
+ */
+public class AccessorsTest
+{
+    /**
+     * {@link net.awairo.mcmod.common.Accessors#newAccessor(java.lang.Class, java.lang.reflect.Field)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testIntAccessor()
+    {
+        final TestClass test = new TestClass();
+        final Accessors.IntGetter getter = Accessors.newAccessor(Accessors.IntGetter.class,
+                ReflectionHelper.getField(TestClass.class, "ticks"));
+        final Accessors.IntSetter setter = Accessors.newAccessor(Accessors.IntSetter.class,
+                ReflectionHelper.getField(TestClass.class, "ticks"));
+
+        assertThat(getter.getInt(test), is(20));
+        setter.setInt(test, 40);
+        assertThat(test.ticks, is(40));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.Accessors#newAccessor(java.lang.Class, java.lang.reflect.Field)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testObjectAccessor()
+    {
+        final TestClass test = new TestClass();
+        final Accessors.ObjectGetter<String> getter = Accessors.newAccessor(Accessors.ObjectGetter.class,
+                ReflectionHelper.getField(TestClass.class, "name"));
+
+        assertThat(getter.get(test), is("test"));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.Accessors#newAccessor(java.lang.Class, java.lang.reflect.Field)} のためのテスト・メソッド。
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncompatibleAccessor()
+    {
+        Accessors.newAccessor(Accessors.DoubleGetter.class, ReflectionHelper.getField(TestClass.class, "ticks"));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.Accessors#takeHandle(java.lang.Class, int)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testTakeHandle()
+    {
+        final Accessors.IntGetter getter = Accessors.newAccessor(Accessors.IntGetter.class,
+                ReflectionHelper.getField(TestClass.class, "ticks"));
+        assertThat(getter.getClass().getName(), containsString("GeneratedAccessor"));
+
+        try
+        {
+            Accessors.takeHandle(AccessorsTest.class, 1);
+            fail();
+        }
+        catch (final IllegalArgumentException e)
+        {
+            // 生成したクラス以外からは受け取れない
+        }
+    }
+
+    private static class TestClass
+    {
+        private int ticks = 20;
+        private String name = "test";
+    }
+}
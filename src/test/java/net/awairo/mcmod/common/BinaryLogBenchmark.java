@@ -0,0 +1,98 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+
+/**
+ * テキスト形式とバイナリ形式のファイル出力のベンチマーク.
+ *
+ * <p>
+ * JUnit のテストではなく、main メソッドから実行します。結果は 1 レコードあたりのナノ秒とバイト数です。
+ * レコードはプリミティブ型の引数を二つ持つトレースログです。
+ * </p>
+ *
+ * @author alalwww
+ */
+public class BinaryLogBenchmark
+{
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 1000000;
+
+    private static final Executor SAME_THREAD = new Executor()
+    {
+        @Override
+        public void execute(Runnable command)
+        {
+            command.run();
+        }
+    };
+
+    public static void main(String[] args) throws IOException
+    {
+        final Logger owner = CommonLogger.getLogger();
+
+        for (int i = 0; i < WARMUP; i++)
+        {
+            text(owner);
+            binary(owner);
+        }
+
+        text(owner);
+        binary(owner);
+    }
+
+    private static void text(Logger owner) throws IOException
+    {
+        final Path dir = Files.createTempDirectory("awa-bench");
+        run("MappedFileHandler (text)", owner, new MappedFileHandler(dir, "bench", 128 * 1024 * 1024,
+                TimeUnit.HOURS.toMillis(1), SAME_THREAD), dir);
+    }
+
+    private static void binary(Logger owner) throws IOException
+    {
+        final Path dir = Files.createTempDirectory("awa-bench");
+        run("BinaryLogHandler", owner, new BinaryLogHandler(dir.resolve("bench.awlog")), dir);
+    }
+
+    private static void run(String name, Logger owner, Handler handler, Path dir) throws IOException
+    {
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+            handler.publish(LazyLogRecord.of(owner, Level.FINEST, "entity %d moved %s blocks").with(i).with(i * 0.5d));
+        handler.close();
+        final long nanos = System.nanoTime() - start;
+
+        long bytes = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir))
+        {
+            for (final Path path : stream)
+            {
+                bytes += Files.size(path);
+                Files.delete(path);
+            }
+        }
+        Files.delete(dir);
+
+        System.out.printf("%-28s %7.2f ns/op %6.2f bytes/op%n", name, (double) nanos / ITERATIONS,
+                (double) bytes / ITERATIONS);
+    }
+}
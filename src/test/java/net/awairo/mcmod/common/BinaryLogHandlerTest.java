@@ -0,0 +1,131 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * xxx.
+ *
+ * @author alalwww
+ */
+public class BinaryLogHandlerTest
+{
+    /**
+     * {@link net.awairo.mcmod.common.BinaryLogDecoder#decode(java.io.InputStream, java.lang.Appendable)}
+     * のためのテスト・メソッド。
+     */
+    @Test
+    public void testDecode() throws Exception
+    {
+        final Logger owner = CommonLogger.getLogger();
+        final List<LogRecord> records = Lists.newArrayList();
+
+        records.add(new LazyLogRecord(owner, Level.INFO, "generic %s %d %s %s %%", new Object[] { "日本語",
+                Integer.valueOf(-3), null, Float.valueOf(0.1f) }, null));
+        records.add(new LazyLogRecord(owner, Level.INFO, "hex %08x", new Object[] { Long.valueOf(255) }, null));
+        records.add(LazyLogRecord.of(owner, Level.FINEST, "tick %d").with(42L));
+        records.add(LazyLogRecord.of(owner, Level.FINEST, "tick %d").with(-7L));
+        records.add(LazyLogRecord.of(owner, Level.FINE, "pos %s, %s").with(1.5d).with(-0.25d));
+        records.add(LazyLogRecord.of(owner, Level.FINER, "%s=%d").with("count").with(Long.MIN_VALUE));
+        records.add(LazyLogRecord.of(owner, Level.FINE, "%d ms (%s)").with(3L).with(0.75d));
+        records.add(new LazyLogRecord(owner, Level.WARNING, "failed", null, new IllegalStateException("thrown")));
+        records.add(new LazyLogRecord(owner, Level.INFO, "bool %b %s", new Object[] { Boolean.FALSE, Boolean.TRUE },
+                null));
+        records.add(new LazyLogRecord(owner, Level.INFO, "char %c", new Object[] { Character.valueOf('x') }, null));
+        records.add(new LazyLogRecord(owner, Level.INFO, "short %d %x, byte %d %x", new Object[] {
+                Short.valueOf((short) -1), Short.valueOf((short) -1), Byte.valueOf((byte) -2),
+                Byte.valueOf((byte) -2) }, null));
+        records.add(LazyLogRecord.of(owner, Level.FINEST, "char %c").with('y'));
+        records.add(LazyLogRecord.of(owner, Level.FINEST, "%s=%c").with("key").with('z'));
+        records.add(new LazyLogRecord(owner, Level.INFO, "big %.2f", new Object[] { new BigDecimal("1.005") }, null));
+        records.add(new LazyLogRecord(owner, Level.INFO, "%s=%08x", new Object[] { "id", Long.valueOf(255) }, null));
+
+        final LogRecord plain = new LogRecord(Level.SEVERE, "plain 100%");
+        plain.setLoggerName("net.awairo.test");
+        plain.setMillis(records.get(0).getMillis() - 1000);
+        records.add(plain);
+
+        final Path file = Files.createTempFile("awa-log", ".awlog");
+        try
+        {
+            final BinaryLogHandler handler = new BinaryLogHandler(file);
+            final StringBuilder expected = new StringBuilder();
+
+            for (final LogRecord record : records)
+            {
+                handler.publish(record);
+                expected.append(new LogFormatter().format(record));
+            }
+
+            handler.close();
+
+            final StringBuilder actual = new StringBuilder();
+            try (InputStream in = Files.newInputStream(file))
+            {
+                BinaryLogDecoder.decode(in, actual);
+            }
+
+            assertThat(actual.toString(), is(expected.toString()));
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.BinaryLogHandler#BinaryLogHandler(java.nio.file.Path, long)}
+     * のためのテスト・メソッド。
+     */
+    @Test
+    public void testPeriodicFlush() throws Exception
+    {
+        final Path file = Files.createTempFile("awa-log", ".awlog");
+        try
+        {
+            final BinaryLogHandler handler = new BinaryLogHandler(file, 10);
+            try
+            {
+                handler.publish(LazyLogRecord.of(CommonLogger.getLogger(), Level.FINEST, "tick %d").with(1L));
+
+                for (int i = 0; i < 100 && Files.size(file) == 0; i++)
+                    Thread.sleep(10);
+
+                assertThat(Files.size(file) > 0, is(true));
+            }
+            finally
+            {
+                handler.close();
+            }
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+}
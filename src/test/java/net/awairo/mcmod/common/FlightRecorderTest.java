@@ -0,0 +1,146 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.Test;
+
+import com.google.common.base.Supplier;
+
+/**
+ * xxx.
+ *
+ * @author alalwww
+ */
+public class FlightRecorderTest
+{
+    /** 書き出さないテストで使用する、作成しないディレクトリ. */
+    private static final Path UNUSED_DIR = Paths.get("awa-flight-unused");
+
+    /**
+     * {@link net.awairo.mcmod.common.FlightRecorder#snapshot()} のためのテスト・メソッド。
+     */
+    @Test
+    public void testSnapshot() throws Exception
+    {
+        final FlightRecorder recorder = new FlightRecorder(3, UNUSED_DIR, "test");
+        assertThat(recorder.capacity(), is(4));
+        assertThat(recorder.snapshot().isEmpty(), is(true));
+
+        for (int i = 0; i < 10; i++)
+            recorder.record(new LogRecord(Level.FINEST, "record " + i));
+
+        final List<LogRecord> records = recorder.snapshot();
+        assertThat(records.size(), is(4));
+
+        for (int i = 0; i < 4; i++)
+            assertThat(records.get(i).getMessage(), is("record " + (i + 6)));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.FlightRecorder#acquireDump()} のためのテスト・メソッド。
+     */
+    @Test
+    public void testAcquireDump() throws Exception
+    {
+        final FlightRecorder throttled = new FlightRecorder(4, UNUSED_DIR, "test");
+        assertThat(throttled.acquireDump(), is(true));
+        assertThat(throttled.acquireDump(), is(false));
+
+        final FlightRecorder unthrottled = new FlightRecorder(4, UNUSED_DIR, "test", 0);
+        assertThat(unthrottled.acquireDump(), is(true));
+        assertThat("still dumping", unthrottled.acquireDump(), is(false));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.LazyLogRecord#freeze()} のためのテスト・メソッド。
+     */
+    @Test
+    public void testFreeze()
+    {
+        final StringBuilder mutable = new StringBuilder("before");
+        final AtomicInteger counter = new AtomicInteger(1);
+        final int[] evaluated = { 0 };
+        final LazyArg lazy = LazyArg.of(new Supplier<String>()
+        {
+            @Override
+            public String get()
+            {
+                evaluated[0]++;
+                return "lazy";
+            }
+        });
+
+        final LazyLogRecord record = LazyLogRecord.of(CommonLogger.getLogger(), Level.FINEST, "%s %d %s %s")
+                .with(mutable).with(counter).with(lazy).with(TimeUnit.SECONDS).freeze();
+        assertThat(evaluated[0], is(1));
+
+        mutable.append(" after");
+        counter.incrementAndGet();
+
+        assertThat(record.getArg(3), is((Object) TimeUnit.SECONDS));
+        assertThat(record.getMessage(), is("before 1 lazy SECONDS"));
+
+        final Object[] args = { mutable };
+        final LazyLogRecord varargs = new LazyLogRecord(CommonLogger.getLogger(), Level.FINEST, "%s", args, null)
+                .freeze();
+        mutable.setLength(0);
+
+        assertThat(varargs.getMessage(), is("before after"));
+        assertThat(args[0], is((Object) mutable));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.FlightRecorder#dump()} のためのテスト・メソッド。
+     */
+    @Test
+    public void testDump() throws Exception
+    {
+        final Path dir = Files.createTempDirectory("awa-flight");
+        final FlightRecorder recorder = new FlightRecorder(8, dir, "test");
+        final StringBuilder expected = new StringBuilder();
+
+        for (final Level level : new Level[] { Level.FINEST, Level.FINE, Level.INFO, Level.SEVERE })
+        {
+            final LogRecord record = new LogRecord(level, level.getName());
+            record.setLoggerName("net.awairo.test");
+            recorder.record(record);
+            expected.append(new LogFormatter().format(record));
+        }
+
+        final Path file = recorder.dump();
+        try
+        {
+            assertThat(file.getParent(), is(dir));
+            assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), is(expected.toString()));
+        }
+        finally
+        {
+            Files.delete(file);
+            Files.delete(dir);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+import org.junit.Test;
+
+import com.google.common.base.Supplier;
+
+/**
+ * xxx.
+ *
+ * @author alalwww
+ */
+public class LazyArgTest
+{
+    private static final class CountingSupplier implements Supplier<String>
+    {
+        final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public String get()
+        {
+            return "value" + count.incrementAndGet();
+        }
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.LazyArg#toString()} のためのテスト・メソッド。
+     */
+    @Test
+    public void testToString()
+    {
+        final CountingSupplier supplier = new CountingSupplier();
+        final LazyArg arg = LazyArg.of(supplier);
+        assertThat(supplier.count.get(), is(0));
+
+        assertThat(MessageFormatter.format("arg=%s", new Object[] { arg }), is("arg=value1"));
+        assertThat(arg.toString(), is("value1"));
+        assertThat(supplier.count.get(), is(1));
+
+        assertThat(LazyArg.of(null), is(nullValue()));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.LazyArg#arrayToString(java.lang.Object[])} のためのテスト・メソッド。
+     */
+    @Test
+    public void testArrayToString()
+    {
+        assertThat(LazyArg.arrayToString(new Object[] { "a", 1 }).toString(), is("[a, 1]"));
+        assertThat(LazyArg.arrayToString(null).toString(), is("null"));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.Logger#traceLazy(java.lang.String, com.google.common.base.Supplier)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testTraceLazy()
+    {
+        final Logger logger = CommonLogger.getLogger();
+        final Level original = logger.getLevel();
+        final CountingSupplier supplier = new CountingSupplier();
+
+        try
+        {
+            logger.setLevel(Level.INFO);
+            logger.traceLazy("filtered %s", supplier);
+            logger.debugLazy("filtered %s", supplier);
+            assertThat(supplier.count.get(), is(0));
+        }
+        finally
+        {
+            logger.setLevel(original);
+        }
+    }
+}
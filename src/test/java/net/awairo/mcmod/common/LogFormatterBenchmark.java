@@ -0,0 +1,141 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.text.SimpleDateFormat;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * ログフォーマッターのベンチマーク.
+ * 
+ * <p>
+ * JUnit のテストではなく、main メソッドから実行します。結果は 1 レコードあたりのナノ秒です。
+ * 日時は 1 レコードごとに 1 ミリ秒進めます。
+ * </p>
+ * 
+ * @author alalwww
+ */
+public class LogFormatterBenchmark
+{
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 2000000;
+    private static final long BASE_MILLIS = 1380000000000L;
+
+    private static long sink;
+
+    public static void main(String[] args)
+    {
+        for (int i = 0; i < WARMUP; i++)
+        {
+            simpleDateFormat();
+            timestampCache();
+            formatRecord();
+            publishRecord();
+        }
+
+        report("SimpleDateFormat", simpleDateFormat());
+        report("LogFormatter.appendTimestamp", timestampCache());
+        report("LogFormatter.format", formatRecord());
+        report("DebugConsoleHandler.publish", publishRecord());
+        System.out.println("(sink=" + sink + ")");
+    }
+
+    private static void report(String name, long nanos)
+    {
+        System.out.printf("%-32s %6.2f ns/op%n", name, (double) nanos / ITERATIONS);
+    }
+
+    private static long simpleDateFormat()
+    {
+        final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS ");
+        final long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            final StringBuilder sb = new StringBuilder(64);
+            sb.append(dateFormat.format(BASE_MILLIS + i));
+            sum += sb.length();
+        }
+        sink += sum;
+        return System.nanoTime() - start;
+    }
+
+    private static long timestampCache()
+    {
+        final long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            final StringBuilder sb = new StringBuilder(64);
+            LogFormatter.appendTimestamp(sb, BASE_MILLIS + i);
+            sum += sb.length();
+        }
+        sink += sum;
+        return System.nanoTime() - start;
+    }
+
+    private static long formatRecord()
+    {
+        final LogFormatter formatter = new LogFormatter();
+        final LogRecord record = new LogRecord(Level.INFO, "benchmark message");
+        record.setLoggerName("awairo.common");
+
+        final long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            record.setMillis(BASE_MILLIS + i);
+            sum += formatter.format(record).length();
+        }
+        sink += sum;
+        return System.nanoTime() - start;
+    }
+
+    private static long publishRecord()
+    {
+        final CountingStream counter = new CountingStream();
+        final DebugConsoleHandler handler = new DebugConsoleHandler(new PrintStream(counter));
+        final LogRecord record = new LogRecord(Level.INFO, "benchmark message");
+        record.setLoggerName("awairo.common");
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            record.setMillis(BASE_MILLIS + i);
+            handler.publish(record);
+        }
+        sink += counter.count;
+        return System.nanoTime() - start;
+    }
+
+    private static class CountingStream extends OutputStream
+    {
+        private long count;
+
+        @Override
+        public void write(int b)
+        {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len)
+        {
+            count += len;
+        }
+    }
+}
@@ -14,6 +14,13 @@ package net.awairo.mcmod.common;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
 import org.junit.Test;
 
 import net.awairo.mcmod.common.LogFormatter;
@@ -33,4 +40,68 @@ public class LogFormatterTest
         assertThat(LogFormatter.getLevelString("aaaaaaa"), is("[AAAAAAA]"));
         assertThat(LogFormatter.getLevelString("aaaaaaaa"), is("[AAAAAAAA]"));
     }
+
+    @Test
+    public void testFormat()
+    {
+        final LogRecord record = new LogRecord(Level.FINE, "message");
+        record.setLoggerName("net.awairo.test");
+        record.setThrown(new IllegalStateException("thrown"));
+
+        final String formatted = new LogFormatter().format(record);
+
+        assertThat(formatted, containsString("[DEBUG  ](test) message"));
+        assertThat(formatted, containsString("java.lang.IllegalStateException: thrown"));
+        assertThat(new LogFormatter().format(record), is(formatted));
+    }
+
+    @Test
+    public void testDebugConsoleHandler() throws Exception
+    {
+        final LogRecord record = new LogRecord(Level.WARNING, "\u65e5\u672c\u8a9e message");
+        record.setLoggerName("net.awairo.test");
+        record.setThrown(new IllegalStateException("thrown"));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DebugConsoleHandler handler = new DebugConsoleHandler(new PrintStream(bytes));
+        handler.setEncoding("UTF-8");
+        handler.publish(record);
+
+        assertThat(new String(bytes.toByteArray(), "UTF-8"), is(new LogFormatter().format(record)));
+    }
+
+    @Test
+    public void testBufferedDebugConsoleHandler() throws Exception
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DebugConsoleHandler handler = new DebugConsoleHandler(new PrintStream(bytes), 8192, 60000);
+        handler.setLevel(Level.ALL);
+
+        final LogRecord info = new LogRecord(Level.INFO, "info");
+        handler.publish(info);
+        assertThat(bytes.size(), is(0));
+
+        final LogRecord warning = new LogRecord(Level.WARNING, "warning");
+        handler.publish(warning);
+        assertThat(bytes.toString(), is(new LogFormatter().format(info) + new LogFormatter().format(warning)));
+
+        handler.publish(info);
+        handler.close();
+        assertThat(bytes.toString().endsWith(new LogFormatter().format(info)), is(true));
+    }
+
+    @Test
+    public void testAppendTimestamp()
+    {
+        final SimpleDateFormat expected = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS ");
+        final long base = 1380000000000L;
+
+        for (final long millis : new long[] { base, base + 7, base + 42, base + 999, base + 1000, base + 1001,
+                base - 1, base + 60000 + 123, base - 5 })
+        {
+            final StringBuilder actual = new StringBuilder();
+            LogFormatter.appendTimestamp(actual, millis);
+            assertThat(actual.toString(), is(expected.format(new Date(millis))));
+        }
+    }
 }
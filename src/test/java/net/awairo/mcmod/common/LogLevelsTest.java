@@ -0,0 +1,99 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.logging.Level;
+
+import org.junit.Test;
+
+/**
+ * xxx.
+ *
+ * @author alalwww
+ */
+public class LogLevelsTest
+{
+    /**
+     * {@link net.awairo.mcmod.common.LogLevels#parse(java.lang.String)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testParse()
+    {
+        assertThat(LogLevels.parse("trace"), is(Level.FINEST));
+        assertThat(LogLevels.parse("DEBUG"), is(Level.FINE));
+        assertThat(LogLevels.parse(" info "), is(Level.INFO));
+        assertThat(LogLevels.parse("900"), is(Level.WARNING));
+        assertThat(LogLevels.parse("verbose"), is(nullValue()));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.LogLevels#handleCommand(java.lang.String[])} のためのテスト・メソッド。
+     */
+    @Test
+    public void testHandleCommand()
+    {
+        final Logger logger = CommonLogger.getLogger();
+        final Level original = logger.getLevel();
+
+        try
+        {
+            assertThat(LogLevels.handleCommand(logger.modId, "trace"), is(logger.modId + "=FINEST"));
+            assertThat(logger.isLoggable(Level.FINEST), is(true));
+            assertThat(LogLevels.handleCommand(logger.modId), is(logger.modId + "=FINEST"));
+            assertThat(LogLevels.handleCommand(logger.modId, "verbose"), is("unknown log level: verbose"));
+            assertThat(LogLevels.handleCommand("no.such.mod", "info"), is("unknown mod id: no.such.mod"));
+            assertThat(LogLevels.handleCommand(), containsString(logger.modId + "=FINEST"));
+        }
+        finally
+        {
+            logger.setLevel(original);
+        }
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.LogLevels#load(java.nio.file.Path)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testLoad() throws Exception
+    {
+        final Logger logger = CommonLogger.getLogger();
+        final Level original = logger.getLevel();
+        final Path file = Files.createTempFile("awa-log-levels", ".properties");
+
+        try
+        {
+            Files.write(file, Arrays.asList(logger.modId + "=SEVERE"), StandardCharsets.UTF_8);
+            LogLevels.load(file);
+            assertThat(logger.isLoggable(Level.WARNING), is(false));
+            assertThat(LogLevels.getConfiguredLevel(logger.modId), is(Level.SEVERE));
+
+            Files.write(file, Arrays.asList("# empty"), StandardCharsets.UTF_8);
+            LogLevels.load(file);
+            assertThat(logger.getLevel(), is(original));
+            assertThat(LogLevels.getConfiguredLevel(logger.modId), is(nullValue()));
+        }
+        finally
+        {
+            Files.delete(file);
+            logger.setLevel(original);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Map;
+import java.util.logging.Level;
+
+import org.junit.Test;
+
+/**
+ * xxx.
+ *
+ * @author alalwww
+ */
+public class LogMetricsTest
+{
+    /**
+     * {@link net.awairo.mcmod.common.StripedCounter#sum(int)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testStripedCounterSum() throws Exception
+    {
+        final StripedCounter counter = new StripedCounter(2);
+        final Thread[] threads = new Thread[4];
+
+        for (int i = 0; i < threads.length; i++)
+        {
+            threads[i] = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    for (int j = 0; j < 10000; j++)
+                    {
+                        counter.increment(0);
+                        counter.add(1, 3);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+
+        for (final Thread thread : threads)
+            thread.join();
+
+        assertThat(counter.sum(0), is(40000L));
+        assertThat(counter.sum(1), is(120000L));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.LogMetrics#getRecords(java.util.logging.Level)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testGetRecords()
+    {
+        final LogMetrics metrics = new LogMetrics("test");
+        metrics.published(Level.INFO);
+        metrics.published(Level.INFO);
+        metrics.published(Level.SEVERE);
+        metrics.published(Level.parse("850"));
+        metrics.filtered(Level.FINEST);
+        metrics.filtered(Level.ALL);
+        metrics.rateLimited();
+
+        assertThat(metrics.getRecords(Level.INFO), is(3L));
+        assertThat(metrics.getRecords(Level.SEVERE), is(1L));
+        assertThat(metrics.getRecords(Level.FINEST), is(0L));
+        assertThat(metrics.getFilteredRecords(Level.FINEST), is(2L));
+        assertThat(metrics.getRateLimitedRecords(), is(1L));
+
+        final Map<String, Long> records = metrics.getRecordsByLevel();
+        assertThat(records.size(), is(7));
+        assertThat(records.get("INFO"), is(3L));
+        assertThat(records.get("WARNING"), is(0L));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.LogMetrics#getWriteNanos()} のためのテスト・メソッド。
+     */
+    @Test
+    public void testGetWriteNanos()
+    {
+        final LogMetrics metrics = new LogMetrics("test");
+        metrics.formatted(100L);
+        metrics.written(250L);
+        metrics.written(50L);
+
+        assertThat(metrics.getFormatNanos(), is(100L));
+        assertThat(metrics.getWriteNanos(), is(300L));
+    }
+}
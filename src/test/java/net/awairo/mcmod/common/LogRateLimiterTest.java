@@ -0,0 +1,120 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.Test;
+
+/**
+ * LogRateLimiterTest.
+ * 
+ * @author alalwww
+ */
+public class LogRateLimiterTest
+{
+    /**
+     * {@link net.awairo.mcmod.common.LogRateLimiter#fixedWindow(int, long, java.util.concurrent.TimeUnit)}
+     * のためのテスト・メソッド。
+     */
+    @Test
+    public void testFixedWindow()
+    {
+        final LogRateLimiter limiter = LogRateLimiter.fixedWindow(3, 1, TimeUnit.HOURS);
+
+        assertThat(count(limiter, "fixed %s", null, 5), is(3));
+        assertThat(count(limiter, "fixed %s", new IllegalStateException(), 5), is(3));
+        assertThat(count(limiter, "other %s", null, 5), is(3));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.LogRateLimiter#tokenBucket(int, long, java.util.concurrent.TimeUnit)}
+     * のためのテスト・メソッド。
+     */
+    @Test
+    public void testTokenBucket()
+    {
+        final LogRateLimiter limiter = LogRateLimiter.tokenBucket(2, 1, TimeUnit.HOURS);
+
+        assertThat(count(limiter, "bucket %s", null, 5), is(2));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.LogRateLimiter#tryAcquire(Logger, Level, String, Throwable)}
+     * のためのテスト・メソッド。
+     */
+    @Test
+    public void testReportAfterFlood() throws Exception
+    {
+        final LogRateLimiter limiter = LogRateLimiter.fixedWindow(1, 50, TimeUnit.MILLISECONDS);
+        final Logger logger = CommonLogger.getLogger();
+        final Level original = logger.getLevel();
+        final List<String> messages = new CopyOnWriteArrayList<>();
+        final Handler handler = new Handler()
+        {
+            @Override
+            public void publish(LogRecord record)
+            {
+                messages.add(record.getMessage());
+            }
+
+            @Override
+            public void flush()
+            {
+            }
+
+            @Override
+            public void close()
+            {
+            }
+        };
+
+        logger.setLevel(Level.ALL);
+        logger.logger.addHandler(handler);
+        try
+        {
+            assertThat(count(limiter, "flood %s", null, 5), is(1));
+
+            for (int i = 0; i < 100 && messages.isEmpty(); i++)
+                Thread.sleep(10);
+
+            assertThat(messages.size(), is(1));
+            assertThat(messages.get(0), containsString("repeated 4 times"));
+        }
+        finally
+        {
+            logger.logger.removeHandler(handler);
+            logger.setLevel(original);
+        }
+    }
+
+    private static int count(LogRateLimiter limiter, String format, Throwable thrown, int times)
+    {
+        int acquired = 0;
+
+        for (int i = 0; i < times; i++)
+            if (limiter.tryAcquire(CommonLogger.getLogger(), Level.INFO, format, thrown))
+                acquired++;
+
+        return acquired;
+    }
+}
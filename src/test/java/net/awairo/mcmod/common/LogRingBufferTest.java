@@ -0,0 +1,105 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.logging.Level;
+
+import org.junit.Test;
+
+/**
+ * LogRingBufferTest.
+ * 
+ * @author alalwww
+ */
+public class LogRingBufferTest
+{
+    /**
+     * {@link net.awairo.mcmod.common.LogRingBuffer#offer(java.lang.Object)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testOfferPoll()
+    {
+        final LogRingBuffer<String> buffer = new LogRingBuffer<>(3);
+
+        assertThat(buffer.capacity(), is(4));
+        assertThat(buffer.isEmpty(), is(true));
+
+        for (int i = 0; i < 4; i++)
+            assertThat(buffer.offer("e" + i), is(true));
+
+        assertThat(buffer.offer("e4"), is(false));
+        assertThat(buffer.poll(), is("e0"));
+        assertThat(buffer.offer("e4"), is(true));
+
+        for (int i = 1; i <= 4; i++)
+            assertThat(buffer.poll(), is("e" + i));
+
+        assertThat(buffer.poll(), is(nullValue()));
+        assertThat(buffer.isEmpty(), is(true));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.AsyncLogDispatcher#dispatch(LazyLogRecord)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testDropLowestLevel()
+    {
+        final AsyncLogDispatcher dispatcher = new AsyncLogDispatcher(2,
+                AsyncLogDispatcher.OverflowPolicy.DROP_LOWEST_LEVEL);
+
+        for (int i = 0; i < 3; i++)
+            dispatcher.dispatch(newRecord(Level.FINE));
+
+        assertThat(dispatcher.droppedCount(), is(1L));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.AsyncLogDispatcher#dispatch(LazyLogRecord)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testDropOldest()
+    {
+        final AsyncLogDispatcher dispatcher = new AsyncLogDispatcher(2, AsyncLogDispatcher.OverflowPolicy.DROP_OLDEST);
+
+        for (int i = 0; i < 5; i++)
+            dispatcher.dispatch(newRecord(Level.SEVERE));
+
+        assertThat(dispatcher.droppedCount(), is(3L));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.AsyncLogDispatcher#shutdown()} のためのテスト・メソッド。
+     */
+    @Test
+    public void testShutdown()
+    {
+        final AsyncLogDispatcher dispatcher = new AsyncLogDispatcher(4, AsyncLogDispatcher.OverflowPolicy.BLOCK);
+
+        for (int i = 0; i < 3; i++)
+            dispatcher.dispatch(newRecord(Level.FINE));
+
+        assertThat(dispatcher.queueDepth(), is(3));
+
+        dispatcher.shutdown();
+        assertThat(dispatcher.queueDepth(), is(0));
+    }
+
+    private static LazyLogRecord newRecord(Level level)
+    {
+        return new LazyLogRecord(CommonLogger.getLogger(), level, "test %s", new Object[] { level }, null);
+    }
+}
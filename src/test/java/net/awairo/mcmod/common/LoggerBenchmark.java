@@ -0,0 +1,108 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+/**
+ * ログ出力のベンチマーク.
+ * 
+ * <p>
+ * JUnit のテストではなく、main メソッドから実行します。結果は 1 回の呼び出しあたりのナノ秒です。
+ * 無効なレベルのログは、レベルの判定だけで返るためほぼ 0 になります。
+ * </p>
+ * 
+ * @author alalwww
+ */
+public class LoggerBenchmark
+{
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 10000000;
+
+    private static final Logger LOG = CommonLogger.getLogger();
+
+    private static long sink;
+
+    public static void main(String[] args)
+    {
+        if (LOG.isLoggable(java.util.logging.Level.FINEST))
+        {
+            System.out.println("trace is enabled. run without debug and trace flags.");
+            return;
+        }
+
+        for (int i = 0; i < WARMUP; i++)
+        {
+            disabledTrace();
+            disabledTraceWithArgs();
+            disabledTracePrimitive();
+            format();
+            messageFormatter();
+        }
+
+        report("disabled trace(format)", disabledTrace());
+        report("disabled trace(format, args)", disabledTraceWithArgs());
+        report("disabled trace(format, int)", disabledTracePrimitive());
+        report("String.format", format());
+        report("MessageFormatter.format", messageFormatter());
+        System.out.println("(sink=" + sink + ")");
+    }
+
+    private static void report(String name, long nanos)
+    {
+        System.out.printf("%-32s %6.2f ns/op%n", name, (double) nanos / ITERATIONS);
+    }
+
+    private static long disabledTrace()
+    {
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+            LOG.trace("tick.");
+        return System.nanoTime() - start;
+    }
+
+    private static long disabledTraceWithArgs()
+    {
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+            LOG.trace("tick. (count=%s, name=%s)", i, "benchmark");
+        return System.nanoTime() - start;
+    }
+
+    private static long disabledTracePrimitive()
+    {
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+            LOG.trace("tick. (count=%d)", i);
+        return System.nanoTime() - start;
+    }
+
+    private static long messageFormatter()
+    {
+        final long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < ITERATIONS / 100; i++)
+            sum += MessageFormatter.format("tick. (count=%s, name=%s)", i, "benchmark").length();
+        sink += sum;
+        return (System.nanoTime() - start) * 100;
+    }
+
+    private static long format()
+    {
+        final long start = System.nanoTime();
+        long sum = 0;
+        for (int i = 0; i < ITERATIONS / 100; i++)
+            sum += String.format("tick. (count=%s, name=%s)", i, "benchmark").length();
+        sink += sum;
+        return (System.nanoTime() - start) * 100;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * LoggerTest.
+ *
+ * @author alalwww
+ */
+public class LoggerTest
+{
+    /**
+     * {@link net.awairo.mcmod.common.Logger#parseProperty(java.lang.String, java.lang.String, long, long, long)}
+     * のためのテスト・メソッド。
+     */
+    @Test
+    public void testParseProperty()
+    {
+        assertThat(Logger.parseProperty("test", null, 200, 1, Long.MAX_VALUE), is(200L));
+        assertThat(Logger.parseProperty("test", " 300 ", 200, 1, Long.MAX_VALUE), is(300L));
+        assertThat(Logger.parseProperty("test", "3OO", 200, 1, Long.MAX_VALUE), is(200L));
+        assertThat(Logger.parseProperty("test", "0", 200, 1, Long.MAX_VALUE), is(200L));
+        assertThat(Logger.parseProperty("test", "4294967296", 200, 1, Integer.MAX_VALUE), is(200L));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.Logger#trace(java.lang.String, long, double)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testTracePrimitives()
+    {
+        final Logger logger = CommonLogger.getLogger();
+        final Level original = logger.getLevel();
+        final CapturingHandler captured = new CapturingHandler();
+
+        try
+        {
+            logger.setLevel(Level.ALL);
+            logger.logger.addHandler(captured);
+
+            logger.trace("%s %s", 1L, 0.5d);
+            logger.trace("%s %s", 0.1f, 'c');
+            logger.trace("%s %x", 'a', -1);
+            logger.trace("%s", 0.1f);
+            logger.trace("%s %s %s %s", "a", 1, 2L, null);
+
+            assertThat(captured.records.size(), is(5));
+            assertRecord(captured.records.get(0), "1 0.5", LazyLogRecord.LONG, LazyLogRecord.DOUBLE);
+            assertRecord(captured.records.get(1), "0.1 c", LazyLogRecord.FLOAT, LazyLogRecord.CHAR);
+            assertRecord(captured.records.get(2), "a ffffffff", LazyLogRecord.CHAR, LazyLogRecord.INT);
+            assertRecord(captured.records.get(3), "0.1", LazyLogRecord.FLOAT);
+            assertThat(captured.records.get(4).getMessage(), is("a 1 2 null"));
+        }
+        finally
+        {
+            logger.logger.removeHandler(captured);
+            logger.setLevel(original);
+        }
+    }
+
+    private static void assertRecord(LogRecord record, String message, char... kinds)
+    {
+        final LazyLogRecord lazy = (LazyLogRecord) record;
+
+        assertThat(lazy.getArgCount(), is(kinds.length));
+        for (int i = 0; i < kinds.length; i++)
+            assertThat(lazy.getArgKind(i), is(kinds[i]));
+
+        assertThat(lazy.getMessage(), is(message));
+    }
+
+    private static class CapturingHandler extends Handler
+    {
+        private final List<LogRecord> records = Lists.newArrayList();
+
+        @Override
+        public void publish(LogRecord record)
+        {
+            records.add(record);
+        }
+
+        @Override
+        public void flush()
+        {
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
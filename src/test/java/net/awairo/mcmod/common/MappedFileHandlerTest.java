@@ -0,0 +1,180 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.logging.ErrorManager;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Ordering;
+
+/**
+ * xxx.
+ *
+ * @author alalwww
+ */
+public class MappedFileHandlerTest
+{
+    private static final Executor SAME_THREAD = new Executor()
+    {
+        @Override
+        public void execute(Runnable command)
+        {
+            command.run();
+        }
+    };
+
+    /**
+     * {@link net.awairo.mcmod.common.MappedFileHandler#publish(java.util.logging.LogRecord)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testPublishAndRoll() throws Exception
+    {
+        final Path dir = Files.createTempDirectory("awa-log");
+        final MappedFileHandler handler = new MappedFileHandler(dir, "test", 256, 60000, SAME_THREAD);
+        final StringBuilder expected = new StringBuilder();
+
+        try
+        {
+            for (int i = 0; i < 10; i++)
+            {
+                final LogRecord record = new LogRecord(Level.INFO, "message " + i + " 日本語");
+                record.setLoggerName("net.awairo.test");
+                handler.publish(record);
+                expected.append(new LogFormatter().format(record));
+            }
+
+            final Path current = handler.currentSegment();
+            handler.close();
+
+            final List<Path> segments = segments(dir);
+            assertThat(segments.size() > 1, is(true));
+            assertThat(segments.get(segments.size() - 1), is(current));
+
+            final StringBuilder actual = new StringBuilder();
+            for (final Path segment : segments)
+            {
+                assertThat(segment.equals(current) || segment.toString().endsWith(".log.gz"), is(true));
+                actual.append(read(segment));
+            }
+
+            assertThat(actual.toString(), is(expected.toString()));
+        }
+        finally
+        {
+            for (final Path segment : segments(dir))
+                Files.delete(segment);
+            Files.delete(dir);
+        }
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.MappedFileHandler#publish(java.util.logging.LogRecord)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testPublishOversizedAndClosed() throws Exception
+    {
+        final Path dir = Files.createTempDirectory("awa-log");
+        final MappedFileHandler handler = new MappedFileHandler(dir, "test", 256, 60000, SAME_THREAD);
+        final List<Integer> errors = Lists.newArrayList();
+        handler.setErrorManager(new ErrorManager()
+        {
+            @Override
+            public synchronized void error(String msg, Exception ex, int code)
+            {
+                errors.add(code);
+            }
+        });
+        final StringBuilder expected = new StringBuilder();
+
+        try
+        {
+            for (final String message : new String[] { "before", Strings.repeat("x", 300), "after" })
+            {
+                final LogRecord record = new LogRecord(Level.INFO, message);
+                record.setLoggerName("net.awairo.test");
+                handler.publish(record);
+
+                if (message.length() < 256)
+                    expected.append(new LogFormatter().format(record));
+            }
+
+            assertThat(errors, is((List<Integer>) Lists.newArrayList(ErrorManager.WRITE_FAILURE)));
+
+            handler.close();
+            final List<Path> closed = segments(dir);
+
+            handler.publish(new LogRecord(Level.INFO, "closed"));
+            assertThat(handler.currentSegment(), is(nullValue()));
+            assertThat(segments(dir), is(closed));
+
+            final StringBuilder actual = new StringBuilder();
+            for (final Path segment : closed)
+                actual.append(read(segment));
+
+            assertThat(actual.toString(), is(expected.toString()));
+        }
+        finally
+        {
+            for (final Path segment : segments(dir))
+                Files.delete(segment);
+            Files.delete(dir);
+        }
+    }
+
+    private static List<Path> segments(Path dir) throws IOException
+    {
+        final List<Path> segments = Lists.newArrayList();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir))
+        {
+            for (final Path path : stream)
+                segments.add(path);
+        }
+
+        return Ordering.natural().sortedCopy(segments);
+    }
+
+    private static String read(Path segment) throws IOException
+    {
+        try (InputStream in = segment.toString().endsWith(".gz")
+                ? new GZIPInputStream(Files.newInputStream(segment))
+                : Files.newInputStream(segment))
+        {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buf = new byte[1024];
+            for (int read = in.read(buf); read >= 0; read = in.read(buf))
+                out.write(buf, 0, read);
+
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
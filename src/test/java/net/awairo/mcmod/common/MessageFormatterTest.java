@@ -0,0 +1,135 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.MissingFormatArgumentException;
+import java.util.logging.Level;
+
+import org.junit.Test;
+
+/**
+ * MessageFormatterTest.
+ * 
+ * @author alalwww
+ */
+public class MessageFormatterTest
+{
+    /**
+     * {@link net.awairo.mcmod.common.MessageFormatter#format(java.lang.String, java.lang.Object[])} のためのテスト・メソッド。
+     */
+    @Test
+    public void testFormatObjects()
+    {
+        assertThat(MessageFormatter.format("a=%s, b=%d, c=%s", "x", 1, null), is("a=x, b=1, c=null"));
+        assertThat(MessageFormatter.format("100%% %s", "done"), is("100% done"));
+        assertThat(MessageFormatter.format("%s%n", "line"), is(String.format("%s%n", "line")));
+        assertThat(MessageFormatter.format("no args", (Object[]) null), is("no args"));
+        assertThat(MessageFormatter.format("extra %s", "a", "b"), is("extra a"));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.MessageFormatter#format(java.lang.String, java.lang.Object[])} のためのテスト・メソッド。
+     */
+    @Test
+    public void testFormatFallback()
+    {
+        assertThat(MessageFormatter.format("%02d:%s", 5, "x"), is("05:x"));
+        assertThat(MessageFormatter.format("%.1f", 1.25d), is(String.format("%.1f", 1.25d)));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.MessageFormatter#format(java.lang.String, java.lang.Object[])} のためのテスト・メソッド。
+     */
+    @Test(expected = MissingFormatArgumentException.class)
+    public void testFormatMissingArgument()
+    {
+        MessageFormatter.format("%s and %s", "a");
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.MessageFormatter#format(LazyLogRecord)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testFormatRecord()
+    {
+        final Logger owner = CommonLogger.getLogger();
+
+        assertThat(MessageFormatter.format(record(owner, "tick=%d").with(20L)), is("tick=20"));
+        assertThat(MessageFormatter.format(record(owner, "x=%s").with(1.5d)), is("x=1.5"));
+        assertThat(MessageFormatter.format(record(owner, "%d/%d").with(1L).with(2L)), is("1/2"));
+        assertThat(MessageFormatter.format(record(owner, "%d %s").with(3L).with(0.5d)), is("3 0.5"));
+        assertThat(MessageFormatter.format(record(owner, "%s=%d").with("ticks").with(7L)), is("ticks=7"));
+        assertThat(MessageFormatter.format(record(owner, "%03d").with(7L)), is("007"));
+        assertThat(MessageFormatter.format(record(owner, "%s %d %s %s").with("a").with(1).with(2.5f).with('c')),
+                is("a 1 2.5 c"));
+        assertThat(MessageFormatter.format(record(owner, "%s|%s|%s|%.1f").with(null).with(true).with(-3L).with(0.25d)),
+                is("null|true|-3|" + String.format("%.1f", 0.25d)));
+        assertThat(MessageFormatter.format(record(owner, "no args")), is("no args"));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.LazyLogRecord#with(int)} のためのテスト・メソッド。
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testWithTooManyArgs()
+    {
+        record(CommonLogger.getLogger(), "%s").with(1).with(2).with(3).with(4).with(5);
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.LazyLogRecord#getMessage()} のためのテスト・メソッド。
+     */
+    @Test
+    public void testLazyLogRecordPrimitives()
+    {
+        final Logger owner = CommonLogger.getLogger();
+
+        assertThat(LazyLogRecord.of(owner, Level.FINEST, "float=%s").with(0.1f).getMessage(), is("float=0.1"));
+        assertThat(LazyLogRecord.of(owner, Level.FINEST, "char=%s").with('c').getMessage(), is("char=c"));
+        assertThat(LazyLogRecord.of(owner, Level.FINEST, "%x").with(-1).getMessage(), is("ffffffff"));
+        assertThat(LazyLogRecord.of(owner, Level.FINEST, "%x").with(-1L).getMessage(), is("ffffffffffffffff"));
+        assertThat(LazyLogRecord.of(owner, Level.FINEST, "%s=%s").with("f").with(0.1f).getMessage(), is("f=0.1"));
+        assertThat(LazyLogRecord.of(owner, Level.FINEST, "%s=%c").with("c").with('x').getMessage(), is("c=x"));
+        assertThat(LazyLogRecord.of(owner, Level.FINEST, "%s=%08x").with("i").with(-2).getMessage(), is("i=fffffffe"));
+        assertThat(LazyLogRecord.of(owner, Level.FINEST, "%d,%d").with(1).with(2).getMessage(), is("1,2"));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.MessageFormatter#format(java.lang.String, java.lang.Object[])} のためのテスト・メソッド。
+     */
+    @Test
+    public void testFormatReentrant()
+    {
+        final Object nested = new Object()
+        {
+            @Override
+            public String toString()
+            {
+                return MessageFormatter.format("X%s]", "INNER");
+            }
+        };
+
+        assertThat(MessageFormatter.format("nested %s tail %s", nested, "END"), is("nested XINNER] tail END"));
+        assertThat(MessageFormatter.format("%s=%d", nested, 1L), is("XINNER]=1"));
+        assertThat(MessageFormatter.format("after %s", "reuse"), is("after reuse"));
+    }
+
+    private static LazyLogRecord record(Logger owner, String format)
+    {
+        return LazyLogRecord.of(owner, Level.FINEST, format);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * NameMappingTest.
+ * 
+ * <p>
+ * テストは開発環境フラグ無しで実行されるため、SRG 名に解決されます。
+ * </p>
+ * 
+ * @author alalwww
+ */
+public class NameMappingTest
+{
+    /**
+     * {@link net.awairo.mcmod.common.NameMapping#builder(java.lang.String)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testBuilder()
+    {
+        final NameMapping mapping = NameMapping.builder("test.builder")
+                .field(TestClass.class, "ticks", "field_00001_a")
+                .method(TestClass.class, "tick", "func_00002_b")
+                .build();
+
+        assertThat(NameMapping.forMod("test.builder"), is(sameInstance(mapping)));
+        assertThat(mapping.fieldName(TestClass.class, "ticks"), is("field_00001_a"));
+        assertThat(mapping.getField(TestClass.class, "ticks").getName(), is("field_00001_a"));
+        assertThat(mapping.getMethod(TestClass.class, "tick").getName(), is("func_00002_b"));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.NameMapping#load(java.lang.String, java.io.InputStream)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testLoad() throws Exception
+    {
+        final String file = "# test\n"
+                + "F net.awairo.mcmod.common.NameMappingTest$TestClass ticks field_00001_a\n"
+                + "\n"
+                + "M net.awairo.mcmod.common.NameMappingTest$TestClass tick func_00002_b\n";
+        final NameMapping mapping = NameMapping.load("test.load",
+                new ByteArrayInputStream(file.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(mapping.fieldName(TestClass.class, "ticks"), is("field_00001_a"));
+        assertThat(mapping.methodName(TestClass.class, "tick"), is("func_00002_b"));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.NameMapping#load(java.lang.String, java.io.InputStream)} のためのテスト・メソッド。
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadIAE() throws Exception
+    {
+        NameMapping.load("test.load.iae", new ByteArrayInputStream("X a b\n".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.NameMapping#getMethod(java.lang.Class, java.lang.String, java.lang.Class[])}
+     * のためのテスト・メソッド。
+     */
+    @Test
+    public void testOverload() throws Exception
+    {
+        final String file = "M net.awairo.mcmod.common.NameMappingTest$TestClass step func_00006_f (J) long\n";
+        final NameMapping loaded = NameMapping.load("test.overload.load",
+                new ByteArrayInputStream(file.getBytes(StandardCharsets.UTF_8)));
+        final NameMapping mapping = NameMapping.builder("test.overload")
+                .method(TestClass.class, "step", "func_00006_f", int.class, int.class)
+                .method(TestClass.class, "step", "func_00006_f", long.class, long.class)
+                .build();
+
+        assertThat(loaded.validate().isEmpty(), is(true));
+        assertThat(loaded.methodName(TestClass.class, "step", long.class), is("func_00006_f"));
+        assertThat(mapping.validate().isEmpty(), is(true));
+        assertThat(mapping.getMethod(TestClass.class, "step", int.class).getReturnType(), is((Object) int.class));
+        assertThat(mapping.getMethod(TestClass.class, "step", long.class).getReturnType(), is((Object) long.class));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.NameMapping.Builder#build()} のためのテスト・メソッド。
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicate()
+    {
+        NameMapping.builder("test.duplicate")
+                .method(TestClass.class, "tick", "func_00002_b")
+                .method(TestClass.class, "tick", "func_00005_e")
+                .build();
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.NameMapping#fieldName(java.lang.Class, java.lang.String)} のためのテスト・メソッド。
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnmapped()
+    {
+        NameMapping.builder("test.unmapped").build().fieldName(TestClass.class, "ticks");
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.NameMapping#validate()} のためのテスト・メソッド。
+     */
+    @Test
+    public void testValidate()
+    {
+        final NameMapping mapping = NameMapping.builder("test.validate")
+                .field(TestClass.class, "ticks", "field_00001_a", int.class)
+                .field(TestClass.class, "age", "field_00004_d", int.class)
+                .method(TestClass.class, "tick", "func_00002_b", void.class)
+                .method(TestClass.class, "missing", "func_00003_c")
+                .build();
+
+        final List<String> failures = mapping.validate();
+
+        assertThat(failures.size(), is(2));
+        assertThat(failures.get(0), containsString("type mismatch"));
+        assertThat(failures.get(1), containsString("func_00003_c"));
+    }
+
+    private static class TestClass
+    {
+        private int field_00001_a;
+        private long field_00004_d;
+
+        private void func_00002_b()
+        {
+        }
+
+        private int func_00006_f(int value)
+        {
+            return value;
+        }
+
+        private long func_00006_f(long value)
+        {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * AwA Minecraft's mod commons.
+ *
+ * (c) 2013 alalwww
+ * https://github.com/alalwww
+ *
+ * This library is distributed under the terms of the Minecraft Mod Public License 1.0, or MMPL.
+ * Please check the contents of the license located in http://www.mod-buildcraft.com/MMPL-1.0.txt
+ *
+ * このライブラリは、Minecraft Mod Public License (MMPL) 1.0 の条件のもとに配布されています。
+ * ライセンスの内容は次のサイトを確認してください。 http://www.mod-buildcraft.com/MMPL-1.0.txt
+ */
+
+package net.awairo.mcmod.common;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * ParentForwardingHandlerTest.
+ * 
+ * @author alalwww
+ */
+public class ParentForwardingHandlerTest
+{
+    /**
+     * {@link net.awairo.mcmod.common.ParentForwardingHandler#publish(java.util.logging.LogRecord)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testPublish()
+    {
+        final java.util.logging.Logger parent = java.util.logging.Logger.getLogger("awairo.test.parent");
+        final java.util.logging.Logger child = java.util.logging.Logger.getLogger("awairo.test.parent.child");
+        final CapturingHandler captured = new CapturingHandler();
+
+        parent.setUseParentHandlers(false);
+        parent.addHandler(captured);
+        child.setUseParentHandlers(false);
+        child.setLevel(Level.ALL);
+        child.addHandler(new ParentForwardingHandler(child));
+
+        child.fine("fine");
+        child.info("info");
+        child.severe("severe");
+
+        assertThat(captured.records.size(), is(2));
+        assertThat(captured.records.get(0).getMessage(), is("info"));
+        assertThat(captured.records.get(1).getMessage(), is("severe"));
+        assertThat(child.getUseParentHandlers(), is(false));
+    }
+
+    private static class CapturingHandler extends Handler
+    {
+        private final List<LogRecord> records = Lists.newArrayList();
+
+        @Override
+        public void publish(LogRecord record)
+        {
+            records.add(record);
+        }
+
+        @Override
+        public void flush()
+        {
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
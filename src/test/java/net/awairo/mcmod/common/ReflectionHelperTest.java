@@ -16,7 +16,10 @@ package net.awairo.mcmod.common;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.BitSet;
 
 import org.junit.Test;
 
@@ -41,6 +44,21 @@ public class ReflectionHelperTest
         assertThat(ReflectionHelper.findClass("net.minecraft.src.FindClassTestTarget"), is(true));
     }
 
+    /**
+     * {@link net.awairo.mcmod.common.ReflectionHelper#findClasses(java.util.Collection)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testFindClasses()
+    {
+        final BitSet found = ReflectionHelper.findClasses(Arrays.asList("java.lang.String", "java.lang.Strin",
+                "net.minecraft.src.FindClassTestTarget"));
+
+        assertThat(found.get(0), is(true));
+        assertThat(found.get(1), is(false));
+        assertThat(found.get(2), is(true));
+        assertThat(ReflectionHelper.findClass("java.lang.Strin"), is(false));
+    }
+
     /**
      * {@link net.awairo.mcmod.common.ReflectionHelper#getFieldValue(java.lang.Class, java.lang.Object, int)}
      * のためのテスト・メソッド。
@@ -88,6 +106,83 @@ public class ReflectionHelperTest
         assertThat(method.getName(), is("testTargetMethodName"));
     }
 
+    /**
+     * {@link net.awairo.mcmod.common.ReflectionHelper#getMethod(java.lang.Class, int)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testGetMethodByIndex()
+    {
+        final Method[] declared = TestClass.class.getDeclaredMethods();
+
+        for (int i = 0; i < declared.length; i++)
+        {
+            final Method method = ReflectionHelper.getMethod(TestClass.class, i);
+            assertThat(method, is(declared[i]));
+            assertThat(ReflectionHelper.getMethod(TestClass.class, i), is(sameInstance(method)));
+        }
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.ReflectionHelper#getMethod(java.lang.Class, java.lang.String, java.lang.Class[])}
+     * のためのテスト・メソッド。
+     */
+    @Test
+    public void testGetOverloadedMethod()
+    {
+        final Method noArgs = ReflectionHelper.getMethod(OverloadTestClass.class, "overload");
+        final Method intArg = ReflectionHelper.getMethod(OverloadTestClass.class, "overload", int.class);
+        final Method stringArgs = ReflectionHelper.getMethod(OverloadTestClass.class, "overload", String.class,
+                String.class);
+
+        assertThat(noArgs.getParameterTypes().length, is(0));
+        assertThat(intArg.getParameterTypes()[0], is((Object) int.class));
+        assertThat(stringArgs.getParameterTypes().length, is(2));
+        assertThat(ReflectionHelper.getMethodByDescriptor(OverloadTestClass.class, "overload", "(I)I"),
+                is(sameInstance(intArg)));
+        assertThat(ReflectionHelper.getMethod(OverloadTestClass.class, "unique").getName(), is("unique"));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.ReflectionHelper#getMethod(java.lang.Class, java.lang.String, java.lang.Class[])}
+     * のためのテスト・メソッド。
+     */
+    @Test(expected = RuntimeException.class)
+    public void testGetOverloadedMethodNSME()
+    {
+        ReflectionHelper.getMethod(OverloadTestClass.class, "overload", long.class);
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.ReflectionHelper#getField(java.lang.Class, java.lang.String)} のキャッシュのテスト・メソッド。
+     */
+    @Test
+    public void testGetFieldCached()
+    {
+        final Field field = ReflectionHelper.getField(TestClass.class, "field2");
+        final long hit = ReflectionHelper.getMemberCacheHitCount();
+        final long miss = ReflectionHelper.getMemberCacheMissCount();
+
+        assertThat(ReflectionHelper.getField(TestClass.class, "field2"), is(sameInstance(field)));
+        assertThat(ReflectionHelper.getMemberCacheHitCount(), is(hit + 1));
+        assertThat(ReflectionHelper.getMemberCacheMissCount(), is(miss));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.ReflectionHelper#getMemberCacheHitCount()} のためのテスト・メソッド。
+     */
+    @Test
+    public void testGetMemberCacheHitCount()
+    {
+        final Method method = ReflectionHelper.getMethod(OverloadTestClass.class, "overload", int.class);
+        final long hit = ReflectionHelper.getMemberCacheHitCount();
+        final long miss = ReflectionHelper.getMemberCacheMissCount();
+
+        assertThat(ReflectionHelper.getMethod(OverloadTestClass.class, "overload", int.class),
+                is(sameInstance(method)));
+        assertThat(ReflectionHelper.getMemberCacheHitCount(), is(hit + 1));
+        assertThat(ReflectionHelper.getMemberCacheMissCount(), is(miss));
+    }
+
     /**
      * {@link net.awairo.mcmod.common.ReflectionHelper#invoke(java.lang.reflect.Method, java.lang.Object, java.lang.Object...)}
      * のためのテスト・メソッド。
@@ -100,6 +195,123 @@ public class ReflectionHelperTest
         assertThat((String) ReflectionHelper.invoke(method, test), is(test.testTargetMethodName()));
     }
 
+    /**
+     * {@link net.awairo.mcmod.common.ReflectionHelper#getFieldAccessor(java.lang.Class, java.lang.String)}
+     * のためのテスト・メソッド。
+     */
+    @Test
+    public void testGetFieldAccessor()
+    {
+        final TestClass test = new TestClass();
+        final FieldAccessor<String> accessor = ReflectionHelper.getFieldAccessor(TestClass.class, "field1");
+
+        assertThat(accessor.get(test), is("field1"));
+        accessor.set(test, "changed");
+        assertThat(test.field1, is("changed"));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.ReflectionHelper#getMethodAccessor(java.lang.Class, java.lang.String)}
+     * のためのテスト・メソッド。
+     */
+    @Test
+    public void testGetMethodAccessor()
+    {
+        final TestClass test = new TestClass();
+        final MethodAccessor<String> accessor = ReflectionHelper.getMethodAccessor(TestClass.class,
+                "testTargetMethodName");
+
+        assertThat(accessor.invoke(test), is(test.testTargetMethodName()));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.MethodAccessor#invokeInt1(java.lang.Object, java.lang.Object)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testMethodAccessorFixedArity()
+    {
+        final OverloadTestClass test = new OverloadTestClass();
+        final MethodAccessor<Integer> intArg = MethodAccessor.of(ReflectionHelper.getMethod(OverloadTestClass.class,
+                "overload", int.class));
+        final MethodAccessor<String> stringArgs = MethodAccessor.of(ReflectionHelper.getMethod(
+                OverloadTestClass.class, "overload", String.class, String.class));
+
+        assertThat(intArg.invokeInt1(test, 3), is(3));
+        assertThat(intArg.invoke1(test, 4), is(4));
+        assertThat(stringArgs.invoke2(test, "a", "b"), is("ab"));
+        assertThat(stringArgs.invoke(test, new Object[] { "c", "d" }), is("cd"));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.MethodAccessor#invoke1(java.lang.Object, java.lang.Object)} のためのテスト・メソッド。
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMethodAccessorFixedArityIAE()
+    {
+        final MethodAccessor<String> stringArgs = MethodAccessor.of(ReflectionHelper.getMethod(
+                OverloadTestClass.class, "overload", String.class, String.class));
+
+        stringArgs.invoke1(new OverloadTestClass(), "a");
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.ReflectionHelper#getInt(java.lang.reflect.Field, java.lang.Object)}
+     * のためのテスト・メソッド。
+     */
+    @Test
+    public void testGetSetPrimitive()
+    {
+        final PrimitiveTestClass test = new PrimitiveTestClass();
+        final Field field = ReflectionHelper.getField(PrimitiveTestClass.class, "posX");
+
+        assertThat(ReflectionHelper.getDouble(field, test), is(1.5d));
+        ReflectionHelper.setDouble(field, test, 2.5d);
+        assertThat(test.posX, is(2.5d));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.FieldAccessor#getDouble(java.lang.Object)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testFieldAccessorPrimitive()
+    {
+        final PrimitiveTestClass test = new PrimitiveTestClass();
+        final FieldAccessor<Double> accessor = ReflectionHelper.getFieldAccessor(PrimitiveTestClass.class, "posX");
+
+        assertThat(accessor.getDouble(test), is(1.5d));
+        accessor.setDouble(test, 3.5d);
+        assertThat(test.posX, is(3.5d));
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.FieldAccessor#getInt(java.lang.Object)} のためのテスト・メソッド。
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFieldAccessorPrimitiveIAE()
+    {
+        final FieldAccessor<Double> accessor = ReflectionHelper.getFieldAccessor(PrimitiveTestClass.class, "posX");
+        accessor.getInt(new PrimitiveTestClass());
+    }
+
+    /**
+     * {@link net.awairo.mcmod.common.ReflectionHelper#getMethod(java.lang.Class, java.lang.String)} のためのテスト・メソッド。
+     */
+    @Test
+    public void testGetMethodByNameCounted()
+    {
+        final long hit = ReflectionHelper.getMemberCacheHitCount();
+        final long miss = ReflectionHelper.getMemberCacheMissCount();
+
+        final Method method = ReflectionHelper.getMethod(NameLookupTestClass.class, "lookup");
+        assertThat(method.getParameterTypes().length, is(0));
+        assertThat(ReflectionHelper.getMemberCacheHitCount(), is(hit));
+        assertThat(ReflectionHelper.getMemberCacheMissCount(), is(miss + 1));
+
+        assertThat(ReflectionHelper.getMethod(NameLookupTestClass.class, "lookup"), is(sameInstance(method)));
+        assertThat(ReflectionHelper.getMemberCacheHitCount(), is(hit + 1));
+        assertThat(ReflectionHelper.getMemberCacheMissCount(), is(miss + 1));
+    }
+
     private static class TestClass
     {
 
@@ -112,4 +324,41 @@ public class ReflectionHelperTest
             return "test method value";
         }
     }
+
+    private static class OverloadTestClass
+    {
+        private void overload()
+        {
+        }
+
+        private int overload(int i)
+        {
+            return i;
+        }
+
+        private String overload(String a, String b)
+        {
+            return a + b;
+        }
+
+        private void unique(long l)
+        {
+        }
+    }
+
+    private static class PrimitiveTestClass
+    {
+        private double posX = 1.5d;
+    }
+
+    private static class NameLookupTestClass
+    {
+        private void lookup(int i)
+        {
+        }
+
+        private void lookup()
+        {
+        }
+    }
 }